@@ -2,8 +2,10 @@ package com.example.customer_service_integration_test;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CustomerServiceIntegrationTestApplication {
 
 	public static void main(String[] args) {
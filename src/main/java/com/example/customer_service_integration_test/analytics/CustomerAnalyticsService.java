@@ -0,0 +1,205 @@
+package com.example.customer_service_integration_test.analytics;
+
+import com.example.customer_service_integration_test.event.CustomerChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves customer aggregates from an off-heap {@link CustomerColumnarSnapshot} instead of loading
+ * entities.
+ *
+ * The snapshot is built by one streaming scan of the customers table and then kept current from
+ * committed {@link CustomerChangeEvent}s, applied by entity version so late or reordered events
+ * never overwrite a newer row. Changes that commit while a rebuild is scanning are queued and
+ * replayed onto the new snapshot before it is swapped in; a replayed change the scan already saw
+ * is older than or equal to the scanned row and is ignored.
+ *
+ * Bulk statements and other instances write without events, so the snapshot is rebuilt every
+ * {@code customer.analytics.rebuild-interval}, and a read finding it older than
+ * {@code customer.analytics.max-staleness} rebuilds first, like {@code CustomerCountCache}.
+ */
+@Slf4j
+@Service
+public class CustomerAnalyticsService {
+
+    private static final String SCAN_CUSTOMERS = "SELECT customer_id, version, address, email, status FROM customers";
+
+    private final JdbcTemplate scanTemplate;
+    private final int initialCapacity;
+    private final boolean loadOnStartup;
+    private final Duration maxStaleness;
+    private final ForkJoinPool pool;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object changeLock = new Object();
+    private final List<CustomerChangeEvent> pendingChanges = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile CustomerColumnarSnapshot snapshot;
+    private volatile Instant builtAt;
+
+    public CustomerAnalyticsService(DataSource dataSource,
+                                    DataSourceProperties dataSourceProperties,
+                                    @Value("${customer.analytics.fetch-size:1000}") int fetchSize,
+                                    @Value("${customer.analytics.initial-capacity:65536}") int initialCapacity,
+                                    @Value("${customer.analytics.load-on-startup:true}") boolean loadOnStartup,
+                                    @Value("${customer.analytics.max-staleness:PT15M}") Duration maxStaleness,
+                                    @Value("${customer.analytics.parallelism:0}") int parallelism) {
+        this.scanTemplate = new JdbcTemplate(scanDataSource(dataSource, dataSourceProperties));
+        this.scanTemplate.setFetchSize(fetchSize);
+        this.initialCapacity = initialCapacity;
+        this.loadOnStartup = loadOnStartup;
+        this.maxStaleness = maxStaleness;
+        this.pool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (loadOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the snapshot with a fresh scan of the customers table. Use after bulk statements
+     * that bypass the entity listener.
+     * @return the new snapshot
+     */
+    public CustomerColumnarSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (changeLock) {
+                rebuilding = true;
+                pendingChanges.clear();
+            }
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            CustomerColumnarSnapshot built = new CustomerColumnarSnapshot(initialCapacity);
+            try {
+                scanTemplate.query(SCAN_CUSTOMERS, (RowCallbackHandler) rs -> built.upsert(
+                        rs.getLong("customer_id"), rs.getLong("version"), rs.getString("address"), rs.getString("email"),
+                        rs.getBoolean("status")));
+            } catch (RuntimeException e) {
+                synchronized (changeLock) {
+                    rebuilding = false;
+                    pendingChanges.clear();
+                }
+                throw e;
+            }
+            synchronized (changeLock) {
+                pendingChanges.forEach(change -> apply(built, change));
+                pendingChanges.clear();
+                snapshot = built;
+                builtAt = startedAt;
+                rebuilding = false;
+            }
+            log.info("Built customer snapshot with {} rows ({} KiB off-heap) in {} ms", built.size(),
+                    built.offHeapBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Periodic rebuild that picks up writes made without change events. Skipped until the snapshot
+     * has been built once, so a lazily loaded snapshot stays unbuilt while nobody reads it.
+     */
+    @Scheduled(fixedDelayString = "${customer.analytics.rebuild-interval:PT5M}",
+            initialDelayString = "${customer.analytics.rebuild-interval:PT5M}")
+    public void reconcile() {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangeEvent change) {
+        synchronized (changeLock) {
+            if (rebuilding) {
+                pendingChanges.add(change);
+            }
+            CustomerColumnarSnapshot current = snapshot;
+            if (current != null) {
+                apply(current, change);
+            }
+        }
+    }
+
+    public Map<Boolean, Long> countByStatus() {
+        return snapshot().countByStatus(pool);
+    }
+
+    public Map<String, Long> countByEmailDomain() {
+        return snapshot().countByEmailDomain(pool);
+    }
+
+    public Map<String, Long> countByAddress() {
+        return snapshot().countByAddress(pool);
+    }
+
+    /**
+     * The current snapshot, built on first use when startup loading is disabled and rebuilt first
+     * when older than the allowed staleness
+     */
+    public CustomerColumnarSnapshot snapshot() {
+        CustomerColumnarSnapshot current = snapshot;
+        Instant asOf = builtAt;
+        if (current != null && asOf.plus(maxStaleness).isAfter(Instant.now())) {
+            return current;
+        }
+        // One caller rebuilds; the others keep serving the old snapshot unless there is none yet
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return current;
+        }
+        try {
+            return snapshot != current ? snapshot : rebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Connector/J only reads a fetch-size batch per round trip with useCursorFetch, which would turn
+     * every pooled query into a server-side cursor. The scan gets its own unpooled connection with it
+     * enabled instead; other databases honour the fetch size on the shared DataSource.
+     */
+    private static DataSource scanDataSource(DataSource dataSource, DataSourceProperties properties) {
+        String url = properties.getUrl();
+        if (url == null || !url.startsWith("jdbc:mysql:")) {
+            return dataSource;
+        }
+        DriverManagerDataSource scanDataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true",
+                properties.determineUsername(), properties.determinePassword());
+        scanDataSource.setDriverClassName(properties.determineDriverClassName());
+        return scanDataSource;
+    }
+
+    private static void apply(CustomerColumnarSnapshot target, CustomerChangeEvent change) {
+        if (change.type() == CustomerChangeEvent.Type.DELETED) {
+            target.delete(change.customerId(), change.version());
+        } else {
+            target.upsert(change.customerId(), change.version(), change.address(), change.email(), change.status());
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.customer_service_integration_test.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the customers table kept outside the Java heap.
+ *
+ * Each row occupies a slot in a set of direct buffers: the customer id, its entity version, one bit
+ * of {@code status}, one liveness bit, and int codes into dictionaries of email domains and
+ * addresses. Deleting a row only clears its liveness bit and keeps the slot as a tombstone;
+ * rebuilding the snapshot compacts the slots.
+ *
+ * Changes carry the entity version and a change older than the one already applied is ignored, so
+ * changes may arrive in any order. A delete wins over an update of the same version.
+ *
+ * Writers take the write lock for a single row change. Aggregates take the read lock once and then
+ * scan the columns in parallel on a fork-join pool, so they always see a consistent set of rows.
+ * Missing addresses are counted under the empty string.
+ */
+public class CustomerColumnarSnapshot {
+
+    // Rows per leaf task, a multiple of 64 so leaves never share a bitmap word
+    private static final int LEAF_ROWS = 1 << 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary emailDomains = new StringDictionary();
+    private final StringDictionary addresses = new StringDictionary();
+    private final LongIntHashIndex rowsById;
+
+    private LongBuffer ids;
+    private LongBuffer versions;
+    private LongBuffer statusBits;
+    private LongBuffer liveBits;
+    private IntBuffer emailDomainCodes;
+    private IntBuffer addressCodes;
+    private int capacity;
+    private int rowCount;
+    private int liveCount;
+
+    public CustomerColumnarSnapshot(int initialCapacity) {
+        capacity = Math.max(64, (initialCapacity + 63) & ~63);
+        rowsById = new LongIntHashIndex(capacity);
+        ids = longColumn(capacity);
+        versions = longColumn(capacity);
+        statusBits = longColumn(capacity / 64);
+        liveBits = longColumn(capacity / 64);
+        emailDomainCodes = intColumn(capacity);
+        addressCodes = intColumn(capacity);
+    }
+
+    /**
+     * Inserts a customer or overwrites the row it already has
+     * @return false if the snapshot already holds this or a newer version, or a delete of it
+     */
+    public boolean upsert(long customerId, long version, String address, String email, boolean status) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(customerId);
+            if (row == LongIntHashIndex.MISSING) {
+                row = addRow(customerId);
+            } else if (version <= versions.get(row)) {
+                return false;
+            }
+            versions.put(row, version);
+            if (!getBit(liveBits, row)) {
+                setBit(liveBits, row, true);
+                liveCount++;
+            }
+            setBit(statusBits, row, status);
+            emailDomainCodes.put(row, emailDomains.encode(emailDomainOf(email)));
+            addressCodes.put(row, addresses.encode(address == null ? "" : address));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a customer, leaving a tombstone so older updates arriving later are ignored
+     * @return false if the snapshot already holds a newer version
+     */
+    public boolean delete(long customerId, long version) {
+        lock.writeLock().lock();
+        try {
+            int row = rowsById.get(customerId);
+            if (row == LongIntHashIndex.MISSING) {
+                row = addRow(customerId);
+            } else if (version < versions.get(row)) {
+                return false;
+            }
+            versions.put(row, version);
+            if (getBit(liveBits, row)) {
+                setBit(liveBits, row, false);
+                liveCount--;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long customerId) {
+        lock.readLock().lock();
+        try {
+            int row = rowsById.get(customerId);
+            return row != LongIntHashIndex.MISSING && getBit(liveBits, row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes held in direct buffers by the columns and the id index
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) capacity * (2 * Long.BYTES + 2 * Integer.BYTES) + (capacity / 64L) * 2 * Long.BYTES
+                    + rowsById.offHeapBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts live customers by status
+     * @return counts keyed by status, both keys always present
+     */
+    public Map<Boolean, Long> countByStatus(ForkJoinPool pool) {
+        lock.readLock().lock();
+        try {
+            long active = pool.invoke(new StatusCountTask(0, words(rowCount)));
+            Map<Boolean, Long> counts = new LinkedHashMap<>();
+            counts.put(true, active);
+            counts.put(false, liveCount - active);
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts live customers by the lower-cased part of the email after the '@'
+     * @return counts keyed by domain, largest first
+     */
+    public Map<String, Long> countByEmailDomain(ForkJoinPool pool) {
+        return countByCode(pool, emailDomains, emailDomainCodes);
+    }
+
+    /**
+     * Counts live customers by address
+     * @return counts keyed by address, largest first
+     */
+    public Map<String, Long> countByAddress(ForkJoinPool pool) {
+        return countByCode(pool, addresses, addressCodes);
+    }
+
+    static String emailDomainOf(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase();
+    }
+
+    private Map<String, Long> countByCode(ForkJoinPool pool, StringDictionary dictionary, IntBuffer codes) {
+        lock.readLock().lock();
+        try {
+            long[] histogram = pool.invoke(new HistogramTask(codes, dictionary.size(), 0, rowCount));
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int code = 0; code < histogram.length; code++) {
+                if (histogram[code] > 0) {
+                    counts.put(dictionary.decode(code), histogram[code]);
+                }
+            }
+            return sortByCountDescending(counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int addRow(long customerId) {
+        if (rowCount == capacity) {
+            grow();
+        }
+        int row = rowCount++;
+        ids.put(row, customerId);
+        rowsById.put(customerId, row);
+        return row;
+    }
+
+    private void grow() {
+        int newCapacity = Math.multiplyExact(capacity, 2);
+        ids = copyOf(ids, longColumn(newCapacity), capacity);
+        versions = copyOf(versions, longColumn(newCapacity), capacity);
+        statusBits = copyOf(statusBits, longColumn(newCapacity / 64), capacity / 64);
+        liveBits = copyOf(liveBits, longColumn(newCapacity / 64), capacity / 64);
+        emailDomainCodes = copyOf(emailDomainCodes, intColumn(newCapacity), capacity);
+        addressCodes = copyOf(addressCodes, intColumn(newCapacity), capacity);
+        capacity = newCapacity;
+    }
+
+    private static Map<String, Long> sortByCountDescending(Map<String, Long> counts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static boolean getBit(LongBuffer bits, int row) {
+        return (bits.get(row >>> 6) & (1L << row)) != 0;
+    }
+
+    private static void setBit(LongBuffer bits, int row, boolean value) {
+        int word = row >>> 6;
+        long mask = 1L << row;
+        bits.put(word, value ? bits.get(word) | mask : bits.get(word) & ~mask);
+    }
+
+    private static int words(int rows) {
+        return (rows + 63) >>> 6;
+    }
+
+    private static LongBuffer longColumn(int length) {
+        return ByteBuffer.allocateDirect(length * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    private static IntBuffer intColumn(int length) {
+        return ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static LongBuffer copyOf(LongBuffer source, LongBuffer target, int length) {
+        return target.put(0, source, 0, length);
+    }
+
+    private static IntBuffer copyOf(IntBuffer source, IntBuffer target, int length) {
+        return target.put(0, source, 0, length);
+    }
+
+    /**
+     * Popcount of status AND live over a range of bitmap words
+     */
+    private final class StatusCountTask extends RecursiveTask<Long> {
+
+        private final int fromWord;
+        private final int toWord;
+
+        StatusCountTask(int fromWord, int toWord) {
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected Long compute() {
+            if (toWord - fromWord <= LEAF_ROWS / 64) {
+                long count = 0;
+                for (int word = fromWord; word < toWord; word++) {
+                    count += Long.bitCount(statusBits.get(word) & liveBits.get(word));
+                }
+                return count;
+            }
+            int middle = (fromWord + toWord) >>> 1;
+            StatusCountTask left = new StatusCountTask(fromWord, middle);
+            left.fork();
+            return new StatusCountTask(middle, toWord).compute() + left.join();
+        }
+    }
+
+    /**
+     * Histogram of dictionary codes over the live rows of a range
+     */
+    private final class HistogramTask extends RecursiveTask<long[]> {
+
+        private final IntBuffer codes;
+        private final int dictionarySize;
+        private final int fromRow;
+        private final int toRow;
+
+        HistogramTask(IntBuffer codes, int dictionarySize, int fromRow, int toRow) {
+            this.codes = codes;
+            this.dictionarySize = dictionarySize;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (toRow - fromRow <= LEAF_ROWS) {
+                long[] histogram = new long[dictionarySize];
+                for (int word = fromRow >>> 6; word < words(toRow); word++) {
+                    // Visit only the set bits, so deleted rows cost nothing
+                    for (long live = liveBits.get(word); live != 0; live &= live - 1) {
+                        int row = (word << 6) + Long.numberOfTrailingZeros(live);
+                        histogram[codes.get(row)]++;
+                    }
+                }
+                return histogram;
+            }
+            // Split on a word boundary
+            int middle = ((fromRow + toRow) >>> 1) & ~63;
+            HistogramTask left = new HistogramTask(codes, dictionarySize, fromRow, middle);
+            left.fork();
+            long[] histogram = new HistogramTask(codes, dictionarySize, middle, toRow).compute();
+            long[] other = left.join();
+            for (int code = 0; code < histogram.length; code++) {
+                histogram[code] += other[code];
+            }
+            return histogram;
+        }
+    }
+}
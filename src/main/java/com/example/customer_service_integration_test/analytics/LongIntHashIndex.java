@@ -0,0 +1,109 @@
+package com.example.customer_service_integration_test.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Off-heap open-addressing map from customer id to row number.
+ *
+ * Linear probing over direct buffers, so millions of ids cost 12 bytes per slot instead of a boxed
+ * entry each. Entries are never removed: deleted customers keep their row as a tombstone until the
+ * snapshot is rebuilt.
+ * Not thread-safe on its own; {@link CustomerColumnarSnapshot} guards it.
+ */
+final class LongIntHashIndex {
+
+    static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private LongBuffer keys;
+    private IntBuffer values;
+    private int mask;
+    private int size;
+
+    LongIntHashIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            if (current == key) {
+                return values.get(slot);
+            }
+            if (current == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key " + key + " is reserved");
+        }
+        if ((size + 1L) * 4 > (mask + 1L) * 3) {
+            resize();
+        }
+        insert(key, value);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long offHeapBytes() {
+        return (mask + 1L) * (Long.BYTES + Integer.BYTES);
+    }
+
+    private void insert(long key, int value) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys.get(slot);
+            if (current == key) {
+                values.put(slot, value);
+                return;
+            }
+            if (current == EMPTY) {
+                keys.put(slot, key);
+                values.put(slot, value);
+                size++;
+                return;
+            }
+        }
+    }
+
+    private void resize() {
+        LongBuffer oldKeys = keys;
+        IntBuffer oldValues = values;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long key = oldKeys.get(slot);
+            if (key != EMPTY) {
+                insert(key, oldValues.get(slot));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        values = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int slot = 0; slot < capacity; slot++) {
+            keys.put(slot, EMPTY);
+        }
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / 0.75f) + 1) - 1) << 1;
+        return Math.max(16, capacity);
+    }
+}
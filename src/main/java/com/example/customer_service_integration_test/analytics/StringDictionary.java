@@ -0,0 +1,36 @@
+package com.example.customer_service_integration_test.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense int codes to distinct strings so a column can store one int per row.
+ *
+ * Codes are never reused or removed, so a code read under the snapshot's read lock stays valid.
+ * Not thread-safe on its own; {@link CustomerColumnarSnapshot} guards it.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
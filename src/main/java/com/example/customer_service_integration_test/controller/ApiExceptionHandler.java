@@ -0,0 +1,84 @@
+package com.example.customer_service_integration_test.controller;
+
+import com.example.customer_service_integration_test.exception.CustomerNotFoundException;
+import com.example.customer_service_integration_test.exception.CustomerVersionConflictException;
+import com.example.customer_service_integration_test.exception.DuplicateEmailException;
+import com.example.customer_service_integration_test.exception.InvalidCustomerException;
+import com.example.customer_service_integration_test.model.ApiError;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.List;
+
+/**
+ * Maps every error of the customer API to a JSON {@link ApiError} body
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(InvalidCustomerException.class)
+    public ResponseEntity<ApiError> handleInvalidCustomer(InvalidCustomerException e, HttpServletRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid customer data", e.getViolations(), request);
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class})
+    public ResponseEntity<ApiError> handleUnreadable(Exception e, HttpServletRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Malformed request", List.of(), request);
+    }
+
+    @ExceptionHandler(CustomerNotFoundException.class)
+    public ResponseEntity<ApiError> handleNotFound(CustomerNotFoundException e, HttpServletRequest request) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage(), List.of(), request);
+    }
+
+    @ExceptionHandler(DuplicateEmailException.class)
+    public ResponseEntity<ApiError> handleDuplicate(DuplicateEmailException e, HttpServletRequest request) {
+        return error(HttpStatus.CONFLICT, e.getMessage(), List.of(), request);
+    }
+
+    @ExceptionHandler(CustomerVersionConflictException.class)
+    public ResponseEntity<ApiError> handleVersionConflict(CustomerVersionConflictException e, HttpServletRequest request) {
+        return error(HttpStatus.CONFLICT, e.getMessage(), List.of(), request);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException e, HttpServletRequest request) {
+        // Retries were exhausted on a hot row; the client may try again later
+        return error(HttpStatus.CONFLICT, "Customer is being modified concurrently, please retry", List.of(), request);
+    }
+
+    @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
+    public ResponseEntity<ApiError> handleMethodNotSupported(HttpRequestMethodNotSupportedException e,
+                                                             HttpServletRequest request) {
+        return error(HttpStatus.METHOD_NOT_ALLOWED, e.getMessage(), List.of(), request);
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ApiError> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException e,
+                                                                HttpServletRequest request) {
+        return error(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage(), List.of(), request);
+    }
+
+    private static ResponseEntity<ApiError> error(HttpStatus status, String message, List<String> details,
+                                                  HttpServletRequest request) {
+        ApiError body = ApiError.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .details(details)
+                .build();
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customer_service_integration_test.controller;
+
+import com.example.customer_service_integration_test.analytics.CustomerAnalyticsService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping(path = "/api/customer/analytics", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CustomerAnalyticsController {
+
+    private final CustomerAnalyticsService analyticsService;
+
+    public CustomerAnalyticsController(CustomerAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/status")
+    public Map<Boolean, Long> countByStatus() {
+        return analyticsService.countByStatus();
+    }
+
+    @GetMapping("/email-domains")
+    public Map<String, Long> countByEmailDomain() {
+        return analyticsService.countByEmailDomain();
+    }
+
+    @GetMapping("/addresses")
+    public Map<String, Long> countByAddress() {
+        return analyticsService.countByAddress();
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh() {
+        analyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.customer_service_integration_test.controller;
+
+import com.example.customer_service_integration_test.model.BatchCreateResponse;
+import com.example.customer_service_integration_test.model.ConflictMetrics;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.model.CustomerSlice;
+import com.example.customer_service_integration_test.service.CustomerETags;
+import com.example.customer_service_integration_test.service.CustomerService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/customer", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CustomerController {
+
+    private final CustomerService customerService;
+
+    public CustomerController(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CustomerData create(@RequestBody CustomerData customerData) {
+        return customerService.create(customerData);
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchCreateResponse createBatch(@RequestBody List<CustomerData> customers) {
+        return customerService.createBatch(customers);
+    }
+
+    @GetMapping("/batch")
+    public List<CustomerData> getBatch(@RequestParam List<Long> ids) {
+        return customerService.getAll(ids);
+    }
+
+    @GetMapping("/list")
+    public CustomerSlice list(@RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "20") int size) {
+        return customerService.list(page, size);
+    }
+
+    @GetMapping("/metrics/conflicts")
+    public ConflictMetrics conflictMetrics() {
+        return customerService.conflictMetrics();
+    }
+
+    @GetMapping("/{customerId}")
+    public ResponseEntity<CustomerData> get(@PathVariable Long customerId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CustomerData customer = customerService.get(customerId);
+        String etag = CustomerETags.of(customer);
+        if (CustomerETags.matches(ifNoneMatch, etag)) {
+            // Client copy is current, skip serializing the body
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(customer);
+    }
+
+    @PutMapping(path = "/{customerId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomerData> update(@PathVariable Long customerId, @RequestBody CustomerData customerData) {
+        CustomerData updated = customerService.update(customerId, customerData);
+        return ResponseEntity.ok().eTag(CustomerETags.of(updated)).body(updated);
+    }
+
+    @DeleteMapping("/{customerId}")
+    public ResponseEntity<Void> delete(@PathVariable Long customerId) {
+        customerService.delete(customerId);
+        return ResponseEntity.noContent().build();
+    }
+}
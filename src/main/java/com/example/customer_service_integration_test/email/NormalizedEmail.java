@@ -0,0 +1,34 @@
+package com.example.customer_service_integration_test.email;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Canonical form of an email address and its 64-bit lookup hash.
+ *
+ * Normalization trims surrounding whitespace and lower-cases the whole address, so
+ * " Anna@Example.com" and "anna@example.com" are the same customer. The hash is XXH64 of the
+ * normalized UTF-8 bytes; it is what the email_hash index stores, and a hash match is only a
+ * candidate until the normalized value is compared.
+ */
+public final class NormalizedEmail {
+
+    private NormalizedEmail() {
+    }
+
+    /**
+     * @param email the address as entered, may be null
+     * @return the normalized address, or null for null input
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param normalizedEmail an address already passed through {@link #normalize(String)}
+     * @return the lookup hash
+     */
+    public static long hash(String normalizedEmail) {
+        return XxHash64.hash(normalizedEmail.getBytes(StandardCharsets.UTF_8), 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.customer_service_integration_test.email;
+
+/**
+ * XXH64, a fast non-cryptographic 64-bit hash with good avalanche behaviour.
+ *
+ * Used for fixed-width index keys, never for security; equal hashes must always be confirmed
+ * against the full value.
+ */
+public final class XxHash64 {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private XxHash64() {
+    }
+
+    public static long hash(byte[] input, long seed) {
+        int length = input.length;
+        int offset = 0;
+        long hash;
+        if (length >= 32) {
+            long v1 = seed + PRIME1 + PRIME2;
+            long v2 = seed + PRIME2;
+            long v3 = seed;
+            long v4 = seed - PRIME1;
+            do {
+                v1 = round(v1, readLong(input, offset));
+                v2 = round(v2, readLong(input, offset + 8));
+                v3 = round(v3, readLong(input, offset + 16));
+                v4 = round(v4, readLong(input, offset + 24));
+                offset += 32;
+            } while (offset <= length - 32);
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME5;
+        }
+        hash += length;
+
+        for (; offset + 8 <= length; offset += 8) {
+            hash ^= round(0, readLong(input, offset));
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+        }
+        if (offset + 4 <= length) {
+            hash ^= (readInt(input, offset) & 0xFFFFFFFFL) * PRIME1;
+            hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+            offset += 4;
+        }
+        for (; offset < length; offset++) {
+            hash ^= (input[offset] & 0xFFL) * PRIME5;
+            hash = Long.rotateLeft(hash, 11) * PRIME1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME2;
+        hash ^= hash >>> 29;
+        hash *= PRIME3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME1;
+    }
+
+    private static long mergeRound(long hash, long value) {
+        hash ^= round(0, value);
+        return hash * PRIME1 + PRIME4;
+    }
+
+    private static long readLong(byte[] input, int offset) {
+        return (readInt(input, offset) & 0xFFFFFFFFL) | ((long) readInt(input, offset + 4) << 32);
+    }
+
+    private static int readInt(byte[] input, int offset) {
+        return (input[offset] & 0xFF) | (input[offset + 1] & 0xFF) << 8
+                | (input[offset + 2] & 0xFF) << 16 | (input[offset + 3] & 0xFF) << 24;
+    }
+}
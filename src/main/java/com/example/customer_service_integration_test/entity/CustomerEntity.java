@@ -1,13 +1,18 @@
 package com.example.customer_service_integration_test.entity;
 
+import com.example.customer_service_integration_test.email.NormalizedEmail;
+import com.example.customer_service_integration_test.event.CustomerChangeListener;
+import com.example.customer_service_integration_test.id.CustomerId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = @Index(name = "idx_customers_email_hash", columnList = "email_hash"))
+@EntityListeners(CustomerChangeListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,7 +20,7 @@ import lombok.NoArgsConstructor;
 public class CustomerEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @CustomerId
     @Column(name = "customer_id")
     private Long customerId;
     
@@ -25,9 +30,31 @@ public class CustomerEntity {
     @Column(name = "address", length = 255)
     private String address;
     
-    @Column(name = "email", nullable = false, length = 100, unique = true)
+    @Column(name = "email", nullable = false, length = 100)
     private String email;
+
+    // Derived from email before every write; nullable only until EmailHashMigration has backfilled old rows
+    @Column(name = "email_normalized", length = 100, unique = true)
+    private String emailNormalized;
+
+    @Column(name = "email_hash")
+    private Long emailHash;
     
     @Column(name = "status", nullable = false)
     private boolean status;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Fills email_normalized and email_hash from email; also used by the sharded store
+     */
+    @PrePersist
+    @PreUpdate
+    public void deriveEmailColumns() {
+        emailNormalized = NormalizedEmail.normalize(email);
+        emailHash = emailNormalized == null ? null : NormalizedEmail.hash(emailNormalized);
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.customer_service_integration_test.event;
+
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+
+/**
+ * A customer row that was inserted, updated or deleted through JPA.
+ *
+ * Published from {@link CustomerChangeListener} while the transaction is still open; consumers that
+ * need committed data listen with {@code @TransactionalEventListener}. After-commit delivery from
+ * concurrent transactions is not ordered; {@code version} is the entity version the change wrote,
+ * so consumers can discard a change older than one they already applied.
+ */
+public record CustomerChangeEvent(Type type, Long customerId, long version, String address, String email,
+                                  boolean status) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static CustomerChangeEvent created(CustomerEntity entity) {
+        return of(Type.CREATED, entity);
+    }
+
+    public static CustomerChangeEvent updated(CustomerEntity entity) {
+        return of(Type.UPDATED, entity);
+    }
+
+    public static CustomerChangeEvent deleted(CustomerEntity entity) {
+        return new CustomerChangeEvent(Type.DELETED, entity.getCustomerId(), versionOf(entity), null, null, false);
+    }
+
+    private static CustomerChangeEvent of(Type type, CustomerEntity entity) {
+        return new CustomerChangeEvent(type, entity.getCustomerId(), versionOf(entity), entity.getAddress(),
+                entity.getEmail(), entity.isStatus());
+    }
+
+    private static long versionOf(CustomerEntity entity) {
+        return entity.getVersion() == null ? 0 : entity.getVersion();
+    }
+}
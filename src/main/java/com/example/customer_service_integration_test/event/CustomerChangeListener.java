@@ -0,0 +1,38 @@
+package com.example.customer_service_integration_test.event;
+
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns customer writes into {@link CustomerChangeEvent}s.
+ *
+ * Hibernate obtains the listener from the Spring bean container, so the publisher is injected.
+ * Bulk JPQL or native statements such as {@code deleteAllByIdInBatch} bypass entity callbacks and
+ * are not observed.
+ */
+public class CustomerChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CustomerChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onPersisted(CustomerEntity entity) {
+        eventPublisher.publishEvent(CustomerChangeEvent.created(entity));
+    }
+
+    @PostUpdate
+    public void onUpdated(CustomerEntity entity) {
+        eventPublisher.publishEvent(CustomerChangeEvent.updated(entity));
+    }
+
+    @PostRemove
+    public void onRemoved(CustomerEntity entity) {
+        eventPublisher.publishEvent(CustomerChangeEvent.deleted(entity));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.customer_service_integration_test.exception;
+
+public class CustomerNotFoundException extends RuntimeException {
+
+    public CustomerNotFoundException(Long customerId) {
+        super("Customer not found: " + customerId);
+    }
+}
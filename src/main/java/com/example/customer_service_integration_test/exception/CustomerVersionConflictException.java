@@ -0,0 +1,9 @@
+package com.example.customer_service_integration_test.exception;
+
+public class CustomerVersionConflictException extends RuntimeException {
+
+    public CustomerVersionConflictException(Long customerId, Long expectedVersion, Long currentVersion) {
+        super("Customer " + customerId + " was modified concurrently: expected version " + expectedVersion
+                + " but found " + currentVersion);
+    }
+}
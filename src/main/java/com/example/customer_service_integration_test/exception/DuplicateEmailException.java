@@ -0,0 +1,8 @@
+package com.example.customer_service_integration_test.exception;
+
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("Customer with email already exists: " + email);
+    }
+}
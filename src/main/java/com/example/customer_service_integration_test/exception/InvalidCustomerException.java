@@ -0,0 +1,17 @@
+package com.example.customer_service_integration_test.exception;
+
+import java.util.List;
+
+public class InvalidCustomerException extends RuntimeException {
+
+    private final List<String> violations;
+
+    public InvalidCustomerException(List<String> violations) {
+        super("Invalid customer data: " + String.join(", ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
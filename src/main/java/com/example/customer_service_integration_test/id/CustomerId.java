@@ -0,0 +1,17 @@
+package com.example.customer_service_integration_test.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an id attribute as generated by the configured customer {@link IdGenerator}
+ */
+@IdGeneratorType(CustomerIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface CustomerId {
+}
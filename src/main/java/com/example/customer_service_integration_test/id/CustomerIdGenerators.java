@@ -0,0 +1,31 @@
+package com.example.customer_service_integration_test.id;
+
+/**
+ * Bridges the Spring-configured {@link IdGenerator} to Hibernate, which instantiates
+ * {@link CustomerIdentifierGenerator} itself.
+ */
+public final class CustomerIdGenerators {
+
+    private static volatile IdGenerator installed;
+
+    private CustomerIdGenerators() {
+    }
+
+    public static void install(IdGenerator generator) {
+        installed = generator;
+    }
+
+    /**
+     * @return the installed generator
+     * @throws IllegalStateException if none was installed, rather than risking ids that collide
+     *                               with other nodes
+     */
+    public static IdGenerator current() {
+        IdGenerator generator = installed;
+        if (generator == null) {
+            throw new IllegalStateException("No customer id generator installed, check customer.id.strategy "
+                    + "and that IdGeneratorConfiguration is loaded");
+        }
+        return generator;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.customer_service_integration_test.id;
+
+/**
+ * Source of customer ids that are known before the row is inserted, which lets Hibernate
+ * batch inserts and lets several nodes insert without coordinating through one database.
+ */
+public interface IdGenerator {
+
+    /**
+     * Returns the next id
+     * @return a positive id, unique across every node configured with the same strategy
+     */
+    long nextId();
+}
@@ -0,0 +1,40 @@
+package com.example.customer_service_integration_test.id;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the customer {@link IdGenerator} selected by customer.id.strategy and makes it
+ * available to Hibernate.
+ */
+@Configuration
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator customerIdGenerator(IdGeneratorProperties properties, DataSource dataSource) {
+        IdGenerator generator = switch (properties.getStrategy()) {
+            case SNOWFLAKE -> new SnowflakeIdGenerator(requiredNodeId(properties));
+            case HILO -> {
+                TableHiLoIdGenerator hiLo = new TableHiLoIdGenerator(new JdbcTemplate(dataSource), properties.getBlockSize());
+                hiLo.initializeSchema();
+                yield hiLo;
+            }
+        };
+        CustomerIdGenerators.install(generator);
+        return generator;
+    }
+
+    private static long requiredNodeId(IdGeneratorProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("customer.id.node-id is required for the SNOWFLAKE strategy, set it "
+                    + "(e.g. CUSTOMER_ID_NODE_ID from the pod ordinal) to a value unique per instance between 0 and "
+                    + SnowflakeIdGenerator.MAX_NODE_ID);
+        }
+        return properties.getNodeId();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.customer_service_integration_test.id;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Customer id generation settings, bound from customer.id.*
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.id")
+public class IdGeneratorProperties {
+
+    private IdStrategy strategy = IdStrategy.SNOWFLAKE;
+
+    /**
+     * Node id for the Snowflake strategy, must be unique per running instance (0-1023). There is no
+     * default: two instances left on the same value would issue duplicate ids.
+     */
+    private Long nodeId;
+
+    /**
+     * Ids reserved per round trip for the hi/lo strategy
+     */
+    private int blockSize = 100;
+}
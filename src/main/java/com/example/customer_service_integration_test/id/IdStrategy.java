@@ -0,0 +1,15 @@
+package com.example.customer_service_integration_test.id;
+
+/**
+ * Supported customer id strategies, selected with customer.id.strategy
+ */
+public enum IdStrategy {
+    /**
+     * Time-ordered 64-bit ids generated locally per node, see {@link SnowflakeIdGenerator}
+     */
+    SNOWFLAKE,
+    /**
+     * Pooled blocks reserved from a table, see {@link TableHiLoIdGenerator}
+     */
+    HILO
+}
@@ -0,0 +1,89 @@
+package com.example.customer_service_integration_test.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids in the Snowflake layout:
+ * 1 sign bit (always 0) | 41 bits milliseconds since {@link #EPOCH} | 10 bits node id | 12 bits sequence.
+ *
+ * Each node can issue 4096 ids per millisecond without any shared state. Ids are far above the
+ * values MySQL's AUTO_INCREMENT handed out so far, so they never collide with existing rows.
+ * They are also above 2^53, so JavaScript clients must not parse them as a Number, see
+ * {@link com.example.customer_service_integration_test.model.CustomerData#getCustomerId()}.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Tolerated backwards clock step (e.g. NTP adjustment) before giving up
+    private static final long MAX_CLOCK_DRIFT_MILLIS = 5_000;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized long nextId() {
+        long timestamp = currentTimestamp();
+        if (timestamp < lastTimestamp) {
+            long drift = lastTimestamp - timestamp;
+            if (drift > MAX_CLOCK_DRIFT_MILLIS) {
+                throw new IllegalStateException("Clock moved backwards by " + drift + " ms, refusing to generate ids");
+            }
+            timestamp = waitUntil(lastTimestamp);
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond
+                timestamp = waitUntil(lastTimestamp + 1);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Extracts the creation time encoded in an id produced by this generator
+     */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    private long currentTimestamp() {
+        return clock.getAsLong() - EPOCH.toEpochMilli();
+    }
+
+    private long waitUntil(long target) {
+        long timestamp = currentTimestamp();
+        while (timestamp < target) {
+            Thread.onSpinWait();
+            timestamp = currentTimestamp();
+        }
+        return timestamp;
+    }
+}
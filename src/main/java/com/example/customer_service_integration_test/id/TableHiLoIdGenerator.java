@@ -0,0 +1,86 @@
+package com.example.customer_service_integration_test.id;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Pooled hi/lo ids reserved in blocks from a single customer_id_block row.
+ *
+ * Each block costs one compare-and-set round trip, after which ids are handed out from memory.
+ * The row is seeded from MAX(customer_id) the first time it is created, so ids continue after
+ * the rows that IDENTITY already inserted. The table itself comes from id/schema.sql, see
+ * {@link #initializeSchema()}.
+ */
+public class TableHiLoIdGenerator implements IdGenerator {
+
+    private static final String SCHEMA = "id/schema.sql";
+    private static final int BLOCK_ROW = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    private long next;
+    private long limit;
+
+    public TableHiLoIdGenerator(JdbcTemplate jdbcTemplate, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Id block size must be positive: " + blockSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates the customer_id_block table where it does not exist yet
+     */
+    public void initializeSchema() {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)),
+                jdbcTemplate.getDataSource());
+    }
+
+    @Override
+    public synchronized long nextId() {
+        if (next >= limit) {
+            reserveBlock();
+        }
+        return next++;
+    }
+
+    private void reserveBlock() {
+        while (true) {
+            Long current = jdbcTemplate.query("SELECT next_val FROM customer_id_block WHERE id = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, BLOCK_ROW);
+            if (current == null) {
+                try {
+                    jdbcTemplate.update("INSERT INTO customer_id_block (id, next_val) VALUES (?, ?)",
+                            BLOCK_ROW, initialValue());
+                } catch (DuplicateKeyException e) {
+                    // Another node created the row first
+                }
+                continue;
+            }
+            int updated = jdbcTemplate.update(
+                    "UPDATE customer_id_block SET next_val = ? WHERE id = ? AND next_val = ?",
+                    current + blockSize, BLOCK_ROW, current);
+            if (updated == 1) {
+                next = current;
+                limit = current + blockSize;
+                return;
+            }
+        }
+    }
+
+    private long initialValue() {
+        try {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(customer_id) FROM customers", Long.class);
+            return max == null ? 1 : max + 1;
+        } catch (DataAccessException e) {
+            // No customers table yet
+            return 1;
+        }
+    }
+}
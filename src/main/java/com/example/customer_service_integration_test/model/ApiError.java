@@ -0,0 +1,20 @@
+package com.example.customer_service_integration_test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiError {
+    private int status;
+    private String error;
+    private String message;
+    private String path;
+    private List<String> details;
+}
@@ -0,0 +1,18 @@
+package com.example.customer_service_integration_test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+}
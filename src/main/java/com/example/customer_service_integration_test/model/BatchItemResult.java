@@ -0,0 +1,22 @@
+package com.example.customer_service_integration_test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a batch request, using the status code the single-item endpoint would return
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private CustomerData customer;
+    private List<String> errors;
+}
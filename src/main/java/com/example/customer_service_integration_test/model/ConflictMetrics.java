@@ -0,0 +1,22 @@
+package com.example.customer_service_integration_test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of optimistic-lock conflict counters since startup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConflictMetrics {
+    private long operations;
+    private long attempts;
+    private long conflicts;
+    private long retriedSuccesses;
+    private long exhausted;
+    private double conflictRate;
+}
@@ -1,14 +1,24 @@
 package com.example.customer_service_integration_test.model;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class CustomerData {
+    /**
+     * A JSON integer of up to 63 bits. Snowflake ids exceed 2^53, the largest integer a JavaScript
+     * Number holds exactly, so JavaScript clients must read it as a string or BigInt (for example
+     * with a reviver on the raw text) and send it back unchanged.
+     */
     private Long customerId;
     private String name;
     private String address;
     private String email;
     private boolean status;
+    private Long version;
 }
@@ -0,0 +1,27 @@
+package com.example.customer_service_integration_test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of a customer listing. {@code totalCount} comes from a maintained counter and may be
+ * up to the configured staleness behind; {@code totalCountAsOf} is when it was last reconciled
+ * against the table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSlice {
+    private List<CustomerData> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private long totalCount;
+    private Instant totalCountAsOf;
+}
@@ -1,10 +1,21 @@
 package com.example.customer_service_integration_test.repository;
 
+import com.example.customer_service_integration_test.email.NormalizedEmail;
 import com.example.customer_service_integration_test.entity.CustomerEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerEntity, Long> {
@@ -17,11 +28,28 @@ public interface CustomerRepository extends JpaRepository<CustomerEntity, Long>
     Optional<CustomerEntity> findByCustomerId(Long customerId);
     
     /**
-     * Find customer by email
+     * Find customer by email, ignoring case and surrounding whitespace. Probes the compact
+     * email_hash index and then confirms the normalized address, so a hash collision never
+     * returns the wrong customer.
      * @param email the email to search for
      * @return Optional containing the customer if found
      */
-    Optional<CustomerEntity> findByEmail(String email);
+    default Optional<CustomerEntity> findByEmail(String email) {
+        String normalized = NormalizedEmail.normalize(email);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        return findAllByEmailHash(NormalizedEmail.hash(normalized)).stream()
+                .filter(customer -> normalized.equals(customer.getEmailNormalized()))
+                .findFirst();
+    }
+
+    /**
+     * Find all customers whose normalized email hashes to the given value
+     * @param emailHash the hash from {@link NormalizedEmail#hash(String)}
+     * @return the candidates, normally zero or one
+     */
+    List<CustomerEntity> findAllByEmailHash(Long emailHash);
     
     /**
      * Check if customer exists by customer ID
@@ -29,4 +57,80 @@ public interface CustomerRepository extends JpaRepository<CustomerEntity, Long>
      * @return true if customer exists, false otherwise
      */
     boolean existsByCustomerId(Long customerId);
+
+    /**
+     * Find customer by customer ID and hold a row lock (SELECT ... FOR UPDATE) until the transaction ends
+     * @param customerId the customer ID to lock
+     * @return Optional containing the locked customer if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CustomerEntity c where c.customerId = :customerId")
+    Optional<CustomerEntity> findForUpdateByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Load one page of customers without the COUNT(*) query a Page needs; one extra row is
+     * fetched to tell whether a next page exists
+     * @param pageable the page number, size and sort
+     * @return the page content and whether more rows follow
+     */
+    Slice<CustomerEntity> findSliceBy(Pageable pageable);
+
+    /**
+     * Find all customers with the given IDs in a single IN query
+     * @param customerIds the customer IDs to load
+     * @return the customers found, in no particular order
+     */
+    List<CustomerEntity> findAllByCustomerIdIn(Collection<Long> customerIds);
+
+    /**
+     * Find all customers with any of the given emails in a single IN query on email_hash,
+     * ignoring case and surrounding whitespace
+     * @param emails the emails to search for
+     * @return the customers found, in no particular order
+     */
+    default List<CustomerEntity> findAllByEmailIn(Collection<String> emails) {
+        Set<String> normalized = new HashSet<>();
+        Set<Long> hashes = new HashSet<>();
+        for (String email : emails) {
+            String value = NormalizedEmail.normalize(email);
+            if (value != null && normalized.add(value)) {
+                hashes.add(NormalizedEmail.hash(value));
+            }
+        }
+        if (hashes.isEmpty()) {
+            return List.of();
+        }
+        return findAllByEmailHashIn(hashes).stream()
+                .filter(customer -> normalized.contains(customer.getEmailNormalized()))
+                .toList();
+    }
+
+    /**
+     * Find all customers whose normalized email hashes to any of the given values
+     * @param emailHashes the hashes to search for
+     * @return the candidates, in no particular order
+     */
+    List<CustomerEntity> findAllByEmailHashIn(Collection<Long> emailHashes);
+
+    /**
+     * Count customers by status with a JPQL aggregate
+     * @return one row per status
+     */
+    @Query("select c.status as groupKey, count(c) as total from CustomerEntity c group by c.status")
+    List<GroupCount> countGroupedByStatus();
+
+    /**
+     * Count customers by lower-cased email domain with a JPQL aggregate
+     * @return one row per domain
+     */
+    @Query("select lower(substring(c.email, locate('@', c.email) + 1)) as groupKey, count(c) as total "
+            + "from CustomerEntity c group by lower(substring(c.email, locate('@', c.email) + 1))")
+    List<GroupCount> countGroupedByEmailDomain();
+
+    /**
+     * Count customers by address with a JPQL aggregate
+     * @return one row per address, null for customers without one
+     */
+    @Query("select c.address as groupKey, count(c) as total from CustomerEntity c group by c.address")
+    List<GroupCount> countGroupedByAddress();
 }
@@ -0,0 +1,11 @@
+package com.example.customer_service_integration_test.repository;
+
+/**
+ * One row of a GROUP BY count query
+ */
+public interface GroupCount {
+
+    Object getGroupKey();
+
+    long getTotal();
+}
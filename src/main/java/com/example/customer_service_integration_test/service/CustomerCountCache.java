@@ -0,0 +1,94 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.event.CustomerChangeEvent;
+import com.example.customer_service_integration_test.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintained total of the customers table, so listings do not run COUNT(*) per request.
+ *
+ * Committed inserts and deletes adjust the counter in place. A periodic COUNT(*) reconciles it
+ * with the table to absorb writes the entity listener cannot see, such as bulk deletes or other
+ * instances. A read finding the last reconciliation older than {@code customer.count.max-staleness}
+ * reconciles synchronously first, which bounds how far behind a total can be.
+ */
+@Slf4j
+@Component
+public class CustomerCountCache {
+
+    private final CustomerRepository customerRepository;
+    private final Duration maxStaleness;
+
+    private final AtomicLong count = new AtomicLong();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Instant reconciledAt;
+
+    public CustomerCountCache(CustomerRepository customerRepository,
+                              @Value("${customer.count.max-staleness:PT1M}") Duration maxStaleness) {
+        this.customerRepository = customerRepository;
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * The current total, reconciling first if it is older than the allowed staleness
+     */
+    public Total total() {
+        Instant asOf = reconciledAt;
+        if (asOf == null || asOf.plus(maxStaleness).isBefore(Instant.now())) {
+            // One caller refreshes; the others keep serving the counter unless there is none yet
+            if (asOf == null) {
+                reconcileLock.lock();
+            } else if (!reconcileLock.tryLock()) {
+                return new Total(count.get(), asOf);
+            }
+            try {
+                if (reconciledAt == asOf) {
+                    reconcile();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+        return new Total(count.get(), reconciledAt);
+    }
+
+    /**
+     * Resets the counter to an exact COUNT(*). Writes that commit while the query runs may be
+     * counted once too many or too few until the next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${customer.count.reconcile-interval:PT15S}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long exact = customerRepository.count();
+            long drift = exact - count.getAndSet(exact);
+            reconciledAt = Instant.now();
+            if (drift != 0) {
+                log.debug("Customer count reconciled to {} (drift {})", exact, drift);
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangeEvent change) {
+        if (change.type() == CustomerChangeEvent.Type.CREATED) {
+            count.incrementAndGet();
+        } else if (change.type() == CustomerChangeEvent.Type.DELETED) {
+            count.decrementAndGet();
+        }
+    }
+
+    public record Total(long count, Instant asOf) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.model.CustomerData;
+
+/**
+ * Entity tags for customer representations.
+ *
+ * A persisted customer is tagged by its id and optimistic-lock version, which changes on every
+ * write. Without a version the tag falls back to a 64-bit hash of the fields. Either way it is
+ * computed directly from the object, so a conditional GET can be answered without serializing the body.
+ */
+public final class CustomerETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CustomerETags() {
+    }
+
+    /**
+     * Computes the strong entity tag of a customer
+     * @param customer the customer representation
+     * @return the quoted entity tag
+     */
+    public static String of(CustomerData customer) {
+        if (customer.getCustomerId() != null && customer.getVersion() != null) {
+            return "\"" + Long.toHexString(customer.getCustomerId()) + "-" + customer.getVersion() + "\"";
+        }
+        long hash = FNV_OFFSET;
+        hash = hash(hash, customer.getCustomerId() == null ? 0 : customer.getCustomerId());
+        hash = hash(hash, customer.getName());
+        hash = hash(hash, customer.getAddress());
+        hash = hash(hash, customer.getEmail());
+        hash = hash(hash, customer.isStatus() ? 1 : 0);
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header value against the current entity tag.
+     * Weak comparison is used, as RFC 9110 requires for If-None-Match.
+     * @param ifNoneMatch the header value, possibly a comma-separated list or *
+     * @param etag        the current quoted entity tag
+     * @return true if the client's copy is current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            // Distinguish null from the empty string
+            return hash(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // Field separator so ("ab", "c") and ("a", "bc") differ
+        return hash(hash, (long) value.length());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.model.CustomerData;
+
+/**
+ * Plain field copies between the API model and the entity
+ */
+public final class CustomerMapper {
+
+    private CustomerMapper() {
+    }
+
+    public static CustomerData toData(CustomerEntity entity) {
+        return new CustomerData(entity.getCustomerId(), entity.getName(), entity.getAddress(),
+                entity.getEmail(), entity.isStatus(), entity.getVersion());
+    }
+
+    public static CustomerEntity toNewEntity(CustomerData data) {
+        CustomerEntity entity = new CustomerEntity();
+        copyInto(data, entity);
+        return entity;
+    }
+
+    public static void copyInto(CustomerData data, CustomerEntity entity) {
+        entity.setName(data.getName());
+        entity.setAddress(data.getAddress());
+        entity.setEmail(data.getEmail());
+        entity.setStatus(data.isStatus());
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.email.NormalizedEmail;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.exception.CustomerNotFoundException;
+import com.example.customer_service_integration_test.exception.CustomerVersionConflictException;
+import com.example.customer_service_integration_test.exception.DuplicateEmailException;
+import com.example.customer_service_integration_test.exception.InvalidCustomerException;
+import com.example.customer_service_integration_test.model.BatchCreateResponse;
+import com.example.customer_service_integration_test.model.BatchItemResult;
+import com.example.customer_service_integration_test.model.ConflictMetrics;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.model.CustomerSlice;
+import com.example.customer_service_integration_test.repository.CustomerRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class CustomerService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final CustomerCountCache countCache;
+
+    public CustomerService(CustomerRepository customerRepository, PlatformTransactionManager transactionManager,
+                           OptimisticRetryExecutor retryExecutor, CustomerCountCache countCache) {
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryExecutor = retryExecutor;
+        this.countCache = countCache;
+    }
+
+    @Transactional
+    public CustomerData create(CustomerData customerData) {
+        CustomerValidator.validate(customerData);
+        if (customerRepository.findByEmail(customerData.getEmail()).isPresent()) {
+            throw new DuplicateEmailException(customerData.getEmail());
+        }
+        CustomerEntity saved = saveAndFlush(CustomerMapper.toNewEntity(customerData));
+        return CustomerMapper.toData(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerData get(Long customerId) {
+        return customerRepository.findByCustomerId(customerId)
+                .map(CustomerMapper::toData)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId));
+    }
+
+    /**
+     * Creates many customers at once. Invalid items and duplicate emails are reported per item
+     * while the remaining items are inserted together in one batched transaction.
+     * @param customers the customers to create, at most {@link #MAX_BATCH_SIZE}
+     * @return one result per input item, in input order
+     */
+    public BatchCreateResponse createBatch(List<CustomerData> customers) {
+        checkBatchSize(customers == null ? 0 : customers.size());
+        BatchItemResult[] results = new BatchItemResult[customers.size()];
+
+        List<Integer> candidates = new ArrayList<>(customers.size());
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < customers.size(); i++) {
+            CustomerData customerData = customers.get(i);
+            try {
+                CustomerValidator.validate(customerData);
+            } catch (InvalidCustomerException e) {
+                results[i] = failure(i, 400, e.getViolations());
+                continue;
+            }
+            if (!batchEmails.add(NormalizedEmail.normalize(customerData.getEmail()))) {
+                results[i] = failure(i, 409, List.of("Duplicate email within batch: " + customerData.getEmail()));
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existingEmails = new HashSet<>();
+            customerRepository.findAllByEmailIn(batchEmails).forEach(existing -> existingEmails.add(existing.getEmailNormalized()));
+            List<Integer> toInsert = new ArrayList<>(candidates.size());
+            for (Integer index : candidates) {
+                String email = customers.get(index).getEmail();
+                if (existingEmails.contains(NormalizedEmail.normalize(email))) {
+                    results[index] = failure(index, 409, List.of("Customer with email already exists: " + email));
+                } else {
+                    toInsert.add(index);
+                }
+            }
+            insertBatch(customers, toInsert, results);
+        }
+
+        int succeeded = (int) Arrays.stream(results).filter(result -> result.getStatus() == 200).count();
+        return BatchCreateResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Loads several customers with a single IN query
+     * @param customerIds the ids to load, at most {@link #MAX_BATCH_SIZE}
+     * @return the customers found, in request order, without duplicates; unknown ids are skipped
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerData> getAll(List<Long> customerIds) {
+        checkBatchSize(customerIds == null ? 0 : customerIds.size());
+        Set<Long> uniqueIds = new LinkedHashSet<>(customerIds);
+        Map<Long, CustomerEntity> found = new HashMap<>();
+        customerRepository.findAllByCustomerIdIn(uniqueIds).forEach(entity -> found.put(entity.getCustomerId(), entity));
+        List<CustomerData> customers = new ArrayList<>(found.size());
+        for (Long customerId : uniqueIds) {
+            CustomerEntity entity = found.get(customerId);
+            if (entity != null) {
+                customers.add(CustomerMapper.toData(entity));
+            }
+        }
+        return customers;
+    }
+
+    /**
+     * Lists customers by id without a per-request COUNT(*): the page itself is a slice and the
+     * total comes from {@link CustomerCountCache}
+     * @param page zero-based page number
+     * @param size page size, at most {@link #MAX_BATCH_SIZE}
+     * @return the page of customers with has-next and the cached total
+     */
+    @Transactional(readOnly = true)
+    public CustomerSlice list(int page, int size) {
+        if (page < 0) {
+            throw new InvalidCustomerException(List.of("Page must not be negative"));
+        }
+        checkBatchSize(size);
+        Slice<CustomerEntity> slice = customerRepository.findSliceBy(
+                PageRequest.of(page, size, Sort.by("customerId")));
+        CustomerCountCache.Total total = countCache.total();
+        return CustomerSlice.builder()
+                .content(slice.map(CustomerMapper::toData).getContent())
+                .page(page)
+                .size(size)
+                .hasNext(slice.hasNext())
+                .totalCount(total.count())
+                .totalCountAsOf(total.asOf())
+                .build();
+    }
+
+    /**
+     * Updates a customer under optimistic locking.
+     *
+     * When the request carries a version it must match the stored one, otherwise the client is
+     * told to re-read. A request without a version is applied to whatever is current, and a
+     * concurrent write detected at flush time is retried with backoff in a fresh transaction.
+     * @param customerId   the customer to update
+     * @param customerData the new field values and, optionally, the version they were read at
+     * @return the updated customer with its new version
+     */
+    public CustomerData update(Long customerId, CustomerData customerData) {
+        CustomerValidator.validate(customerData);
+        return retryExecutor.execute(() -> transactionTemplate.execute(status -> updateOnce(customerId, customerData)));
+    }
+
+    public ConflictMetrics conflictMetrics() {
+        return retryExecutor.metrics();
+    }
+
+    @Transactional
+    public void delete(Long customerId) {
+        if (!customerRepository.existsByCustomerId(customerId)) {
+            throw new CustomerNotFoundException(customerId);
+        }
+        customerRepository.deleteById(customerId);
+    }
+
+    private void insertBatch(List<CustomerData> customers, List<Integer> indexes, BatchItemResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        List<CustomerEntity> entities = new ArrayList<>(indexes.size());
+        indexes.forEach(index -> entities.add(CustomerMapper.toNewEntity(customers.get(index))));
+        try {
+            List<CustomerEntity> saved = transactionTemplate.execute(status -> customerRepository.saveAllAndFlush(entities));
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = success(indexes.get(i), saved.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer took one of the emails; insert item by item so the rest still succeed
+            for (Integer index : indexes) {
+                CustomerData customerData = customers.get(index);
+                try {
+                    CustomerEntity saved = transactionTemplate.execute(
+                            status -> customerRepository.saveAndFlush(CustomerMapper.toNewEntity(customerData)));
+                    results[index] = success(index, saved);
+                } catch (DataIntegrityViolationException duplicate) {
+                    results[index] = failure(index, 409,
+                            List.of("Customer with email already exists: " + customerData.getEmail()));
+                }
+            }
+        }
+    }
+
+    private CustomerData updateOnce(Long customerId, CustomerData customerData) {
+        CustomerEntity existing = customerRepository.findByCustomerId(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId));
+        if (customerData.getVersion() != null && !customerData.getVersion().equals(existing.getVersion())) {
+            throw new CustomerVersionConflictException(customerId, customerData.getVersion(), existing.getVersion());
+        }
+        if (!NormalizedEmail.normalize(customerData.getEmail()).equals(existing.getEmailNormalized())
+                && customerRepository.findByEmail(customerData.getEmail()).isPresent()) {
+            throw new DuplicateEmailException(customerData.getEmail());
+        }
+        CustomerMapper.copyInto(customerData, existing);
+        return CustomerMapper.toData(saveAndFlush(existing));
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size == 0) {
+            throw new InvalidCustomerException(List.of("At least one item is required"));
+        }
+        if (size > MAX_BATCH_SIZE) {
+            throw new InvalidCustomerException(List.of("At most " + MAX_BATCH_SIZE + " items are allowed per request"));
+        }
+    }
+
+    private static BatchItemResult success(int index, CustomerEntity saved) {
+        return BatchItemResult.builder().index(index).status(200).customer(CustomerMapper.toData(saved)).build();
+    }
+
+    private static BatchItemResult failure(int index, int status, List<String> errors) {
+        return BatchItemResult.builder().index(index).status(status).errors(errors).build();
+    }
+
+    private CustomerEntity saveAndFlush(CustomerEntity entity) {
+        try {
+            // Flush inside the call so a concurrent duplicate email surfaces here as a 409
+            return customerRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateEmailException(entity.getEmail());
+        }
+    }
+}
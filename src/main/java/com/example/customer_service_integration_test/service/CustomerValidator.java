@@ -0,0 +1,127 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.exception.InvalidCustomerException;
+import com.example.customer_service_integration_test.model.CustomerData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written validation for incoming customers.
+ *
+ * Checks run directly on the fields instead of through annotation-driven Bean Validation,
+ * keeping the request path free of reflection. Limits follow the customers table columns.
+ */
+public final class CustomerValidator {
+
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final int ADDRESS_MAX_LENGTH = 255;
+    public static final int EMAIL_MAX_LENGTH = 100;
+
+    private CustomerValidator() {
+    }
+
+    /**
+     * Validates a customer for create or update
+     * @param customerData the customer sent by the client
+     * @throws InvalidCustomerException listing every violation found
+     */
+    public static void validate(CustomerData customerData) {
+        List<String> violations = new ArrayList<>(2);
+        if (customerData == null) {
+            throw new InvalidCustomerException(List.of("Request body is required"));
+        }
+        validateName(customerData.getName(), violations);
+        validateAddress(customerData.getAddress(), violations);
+        validateEmail(customerData.getEmail(), violations);
+        if (!violations.isEmpty()) {
+            throw new InvalidCustomerException(violations);
+        }
+    }
+
+    private static void validateName(String name, List<String> violations) {
+        if (name == null || name.isBlank()) {
+            violations.add("name is required");
+            return;
+        }
+        if (name.length() > NAME_MAX_LENGTH) {
+            violations.add("name must be at most " + NAME_MAX_LENGTH + " characters");
+            return;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != ' ' && c != '\'' && c != '-' && c != '.' && c != ',') {
+                violations.add("name contains invalid character '" + c + "'");
+                return;
+            }
+        }
+    }
+
+    private static void validateAddress(String address, List<String> violations) {
+        if (address == null) {
+            return;
+        }
+        if (address.length() > ADDRESS_MAX_LENGTH) {
+            violations.add("address must be at most " + ADDRESS_MAX_LENGTH + " characters");
+            return;
+        }
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (Character.isISOControl(c) || c == '<' || c == '>') {
+                violations.add("address contains invalid character");
+                return;
+            }
+        }
+    }
+
+    private static void validateEmail(String email, List<String> violations) {
+        if (email == null || email.isBlank()) {
+            violations.add("email is required");
+            return;
+        }
+        if (email.length() > EMAIL_MAX_LENGTH) {
+            violations.add("email must be at most " + EMAIL_MAX_LENGTH + " characters");
+            return;
+        }
+        if (!isValidEmail(email)) {
+            violations.add("email must be a valid email address");
+        }
+    }
+
+    /**
+     * Single '@', a non-empty local part of common characters and a dotted domain
+     */
+    static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@') || at == email.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                return false;
+            }
+        }
+        int lastDot = email.lastIndexOf('.');
+        if (lastDot <= at + 1 || lastDot >= email.length() - 2) {
+            return false;
+        }
+        char previous = '@';
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previous == '.' || previous == '@') {
+                    return false;
+                }
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.customer_service_integration_test.service;
+
+import com.example.customer_service_integration_test.model.ConflictMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Retries an action that lost an optimistic-lock race.
+ *
+ * Attempts are bounded and separated by exponential backoff with full jitter, so writers
+ * contending for the same hot row spread out instead of colliding again in lockstep.
+ * Conflict counters are kept for {@link #metrics()}.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retriedSuccesses = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetryExecutor(@Value("${customer.update.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${customer.update.retry.base-delay-ms:2}") long baseDelayMillis,
+                                   @Value("${customer.update.retry.max-delay-ms:50}") long maxDelayMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("customer.update.retry.max-attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(baseDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * Runs the action, retrying on {@link OptimisticLockingFailureException}. Each attempt must run in
+     * its own transaction so that it re-reads the current row.
+     * @param action the transactional action
+     * @return the action's result
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public <T> T execute(Supplier<T> action) {
+        operations.increment();
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                T result = action.get();
+                if (attempt > 1) {
+                    retriedSuccesses.increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    public ConflictMetrics metrics() {
+        long attemptCount = attempts.sum();
+        long conflictCount = conflicts.sum();
+        return ConflictMetrics.builder()
+                .operations(operations.sum())
+                .attempts(attemptCount)
+                .conflicts(conflictCount)
+                .retriedSuccesses(retriedSuccesses.sum())
+                .exhausted(exhausted.sum())
+                .conflictRate(attemptCount == 0 ? 0 : (double) conflictCount / attemptCount)
+                .build();
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off an optimistic-lock retry", e);
+        }
+    }
+}
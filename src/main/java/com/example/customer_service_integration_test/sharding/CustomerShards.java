@@ -0,0 +1,91 @@
+package com.example.customer_service_integration_test.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A fixed set of shard DataSources with routing for customer ids and emails.
+ * Shards are identified by name (normally the JDBC URL), which lets the rebalancer
+ * recognise a shard that is present in both the old and the new topology.
+ */
+@Slf4j
+public class CustomerShards implements AutoCloseable {
+
+    private static final String SCHEMA = "sharding/schema.sql";
+
+    private final List<String> names;
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> templates;
+
+    public CustomerShards(List<String> names, List<DataSource> dataSources) {
+        if (names.size() != dataSources.size() || dataSources.isEmpty()) {
+            throw new IllegalArgumentException("Each shard needs exactly one name and one DataSource");
+        }
+        this.names = List.copyOf(names);
+        this.dataSources = List.copyOf(dataSources);
+        List<JdbcTemplate> jdbcTemplates = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            jdbcTemplates.add(new JdbcTemplate(dataSource));
+        }
+        this.templates = Collections.unmodifiableList(jdbcTemplates);
+    }
+
+    /**
+     * Creates the shard tables where they do not exist yet
+     */
+    public void initializeSchema() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCHEMA));
+        for (DataSource dataSource : dataSources) {
+            DatabasePopulatorUtils.execute(populator, dataSource);
+        }
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public String name(int shard) {
+        return names.get(shard);
+    }
+
+    public JdbcTemplate shard(int shard) {
+        return templates.get(shard);
+    }
+
+    public DataSource dataSource(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public List<JdbcTemplate> all() {
+        return templates;
+    }
+
+    public int shardForCustomerId(long customerId) {
+        return ShardRouter.shardForCustomerId(customerId, size());
+    }
+
+    public int shardForEmail(String email) {
+        return ShardRouter.shardForEmail(email, size());
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Error closing shard DataSource {}", closeable, e);
+                }
+            }
+        }
+    }
+}
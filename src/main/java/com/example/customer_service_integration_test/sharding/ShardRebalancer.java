@@ -0,0 +1,201 @@
+package com.example.customer_service_integration_test.sharding;
+
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Online migration of customers from one shard topology to another.
+ *
+ * Walks every source shard in keyset pages and moves each row whose new home differs into the
+ * target shard. Every row is moved in its own source transaction that re-reads it with
+ * SELECT ... FOR UPDATE, so the copy is exactly the row that is then deleted from the source:
+ * a row deleted or moved by live traffic since the page was read is skipped, and live writes
+ * to it wait until the move has committed. A row that already exists in the target was
+ * rewritten by live traffic through {@link ShardedCustomerRepository} and is left as is.
+ * Email lookup entries are moved the same way, after checking that the customer still owns the
+ * email, so a stale entry is dropped instead of blocking the address in the target.
+ * The service keeps serving while this runs, with the repository configured with the target
+ * as current topology and the source as previous topology.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    public record Result(long movedCustomers, long movedEmailEntries) {
+    }
+
+    private final CustomerShards source;
+    private final CustomerShards target;
+    private final int batchSize;
+
+    public ShardRebalancer(CustomerShards source, CustomerShards target, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Rebalance batch size must be positive: " + batchSize);
+        }
+        this.source = source;
+        this.target = target;
+        this.batchSize = batchSize;
+    }
+
+    public Result rebalance() {
+        long movedCustomers = 0;
+        long movedEmailEntries = 0;
+        for (int shard = 0; shard < source.size(); shard++) {
+            movedCustomers += moveCustomers(shard);
+            movedEmailEntries += moveEmailEntries(shard);
+            log.info("Rebalanced source shard {} ({}): {} customers, {} email entries moved so far",
+                    shard, source.name(shard), movedCustomers, movedEmailEntries);
+        }
+        return new Result(movedCustomers, movedEmailEntries);
+    }
+
+    private long moveCustomers(int sourceShard) {
+        JdbcTemplate from = source.shard(sourceShard);
+        TransactionTemplate sourceTransaction =
+                new TransactionTemplate(new DataSourceTransactionManager(source.dataSource(sourceShard)));
+        String sourceName = source.name(sourceShard);
+        long moved = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<CustomerEntity> page = from.query(
+                    ShardedCustomerRepository.SELECT_COLUMNS + " WHERE customer_id > ? ORDER BY customer_id LIMIT ?",
+                    ShardedCustomerRepository.CUSTOMER_ROW_MAPPER, lastId, batchSize);
+            for (CustomerEntity customer : page) {
+                int targetShard = target.shardForCustomerId(customer.getCustomerId());
+                if (target.name(targetShard).equals(sourceName)) {
+                    continue;
+                }
+                beforeMove(customer);
+                if (Boolean.TRUE.equals(sourceTransaction.execute(
+                        status -> moveCustomer(from, target.shard(targetShard), customer.getCustomerId())))) {
+                    moved++;
+                }
+            }
+            if (page.size() < batchSize) {
+                return moved;
+            }
+            lastId = page.get(page.size() - 1).getCustomerId();
+        }
+    }
+
+    /**
+     * Moves one row while holding its source row lock, runs inside the source transaction
+     * @return false if live traffic deleted or moved the row since the page was read
+     */
+    private static boolean moveCustomer(JdbcTemplate from, JdbcTemplate to, long customerId) {
+        List<CustomerEntity> locked = from.query(
+                ShardedCustomerRepository.SELECT_COLUMNS + " WHERE customer_id = ? FOR UPDATE",
+                ShardedCustomerRepository.CUSTOMER_ROW_MAPPER, customerId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        CustomerEntity customer = locked.get(0);
+        try {
+            ShardedCustomerRepository.insertRow(to, customer);
+        } catch (DuplicateKeyException e) {
+            // Already rewritten into the target by live traffic, which is newer than this copy
+        }
+        // The lock is still held, so this deletes exactly the version that was copied
+        from.update("DELETE FROM customers WHERE customer_id = ?", customerId);
+        return true;
+    }
+
+    /**
+     * Called after a row was read from its page and before it is moved; a test hook for
+     * interleaving live traffic with the migration
+     */
+    void beforeMove(CustomerEntity customer) {
+    }
+
+    private long moveEmailEntries(int sourceShard) {
+        JdbcTemplate from = source.shard(sourceShard);
+        TransactionTemplate sourceTransaction =
+                new TransactionTemplate(new DataSourceTransactionManager(source.dataSource(sourceShard)));
+        String sourceName = source.name(sourceShard);
+        long moved = 0;
+        String lastEmail = "";
+        while (true) {
+            List<Map<String, Object>> page = from.queryForList(
+                    "SELECT email, customer_id FROM customer_email_lookup WHERE email > ? ORDER BY email LIMIT ?",
+                    lastEmail, batchSize);
+            for (Map<String, Object> entry : page) {
+                String email = (String) entry.get("email");
+                long customerId = ((Number) entry.get("customer_id")).longValue();
+                int targetShard = target.shardForEmail(email);
+                if (target.name(targetShard).equals(sourceName)) {
+                    continue;
+                }
+                beforeMoveEmail(email, customerId);
+                if (Boolean.TRUE.equals(sourceTransaction.execute(
+                        status -> moveEmailEntry(from, target.shard(targetShard), email, customerId)))) {
+                    moved++;
+                }
+            }
+            if (page.size() < batchSize) {
+                return moved;
+            }
+            lastEmail = (String) page.get(page.size() - 1).get("email");
+        }
+    }
+
+    /**
+     * Moves one lookup entry while holding its source row lock, runs inside the source transaction.
+     * Live traffic releases an email in the previous topology before the current one, so a release
+     * racing with this move waits for the lock and then removes the copy as well.
+     * @return false if the entry is gone, was stale or belongs to another customer in the target
+     */
+    private boolean moveEmailEntry(JdbcTemplate from, JdbcTemplate to, String email, long customerId) {
+        List<Long> owner = from.queryForList(
+                "SELECT customer_id FROM customer_email_lookup WHERE email = ? AND customer_id = ? FOR UPDATE",
+                Long.class, email, customerId);
+        if (owner.isEmpty()) {
+            return false;
+        }
+        String deleteEntry = "DELETE FROM customer_email_lookup WHERE email = ? AND customer_id = ?";
+        if (!ownsEmail(customerId, email)) {
+            // The customer was deleted or changed email without releasing this entry, do not carry it over
+            log.warn("Dropping stale email lookup entry for customer {}", customerId);
+            from.update(deleteEntry, email, customerId);
+            return false;
+        }
+        try {
+            to.update(ShardedCustomerRepository.INSERT_LOOKUP, email, customerId);
+        } catch (DuplicateKeyException e) {
+            List<Long> targetOwner = to.queryForList(
+                    "SELECT customer_id FROM customer_email_lookup WHERE email = ?", Long.class, email);
+            if (!targetOwner.equals(List.of(customerId))) {
+                log.warn("Email lookup entry of customer {} is claimed by customer {} in the target, left in place "
+                        + "for manual resolution", customerId, targetOwner);
+                return false;
+            }
+            // Already copied for the same customer by live traffic
+        }
+        from.update(deleteEntry, email, customerId);
+        return true;
+    }
+
+    private boolean ownsEmail(long customerId, String email) {
+        for (CustomerShards topology : List.of(target, source)) {
+            List<CustomerEntity> rows = topology.shard(topology.shardForCustomerId(customerId)).query(
+                    ShardedCustomerRepository.SELECT_COLUMNS + " WHERE customer_id = ?",
+                    ShardedCustomerRepository.CUSTOMER_ROW_MAPPER, customerId);
+            if (!rows.isEmpty()) {
+                return email.equals(rows.get(0).getEmailNormalized());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Called after a lookup entry was read from its page and before it is moved; a test hook for
+     * interleaving live traffic with the migration
+     */
+    void beforeMoveEmail(String email, long customerId) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.customer_service_integration_test.sharding;
+
+/**
+ * Hash routing used by the sharding layer.
+ *
+ * Keys are mixed with a 64-bit finalizer and placed with jump consistent hashing, so growing
+ * the cluster from N to N+1 shards only moves about 1/(N+1) of the rows.
+ */
+public final class ShardRouter {
+
+    private ShardRouter() {
+    }
+
+    /**
+     * Returns the shard index for a customer id
+     * @param customerId the customer id
+     * @param shardCount the number of shards
+     * @return index in [0, shardCount)
+     */
+    public static int shardForCustomerId(long customerId, int shardCount) {
+        return jumpConsistentHash(mix64(customerId), shardCount);
+    }
+
+    /**
+     * Returns the shard index holding the email lookup entry for an email
+     * @param email the email as stored
+     * @param shardCount the number of shards
+     * @return index in [0, shardCount)
+     */
+    public static int shardForEmail(String email, int shardCount) {
+        return jumpConsistentHash(mix64(hashString(email)), shardCount);
+    }
+
+    /**
+     * Jump consistent hash (Lamping and Veach)
+     */
+    static int jumpConsistentHash(long key, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + buckets);
+        }
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer, spreads sequential ids across the whole key space
+     */
+    static long mix64(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of the string
+     */
+    static long hashString(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
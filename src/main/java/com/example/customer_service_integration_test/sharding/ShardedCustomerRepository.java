@@ -0,0 +1,330 @@
+package com.example.customer_service_integration_test.sharding;
+
+import com.example.customer_service_integration_test.email.NormalizedEmail;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Customer store spread over several DataSources, mirroring the query methods of
+ * {@link com.example.customer_service_integration_test.repository.CustomerRepository}.
+ *
+ * Rows live on the shard chosen by the customer id hash. Emails are unique across all
+ * shards through the customer_email_lookup table, keyed and sharded by the normalized email,
+ * so findByEmail ignores case and surrounding whitespace and costs two point lookups instead
+ * of a scatter. Scans and counts are
+ * scatter-gather across every shard in parallel.
+ *
+ * While a previous topology is configured (online rebalancing), reads fall back to it and
+ * writes move the touched row into the current topology.
+ *
+ * This is a library for deployments that outgrow one database; the service itself still
+ * runs on the single-DataSource {@code CustomerRepository} and does not wire this store.
+ * Callers build it from {@link CustomerShards} and run {@link ShardRebalancer} themselves.
+ */
+@Slf4j
+public class ShardedCustomerRepository implements AutoCloseable {
+
+    static final String SELECT_COLUMNS =
+            "SELECT customer_id, name, address, email, email_normalized, email_hash, status, version FROM customers";
+    private static final String INSERT_CUSTOMER = "INSERT INTO customers "
+            + "(customer_id, name, address, email, email_normalized, email_hash, status, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CUSTOMER = "UPDATE customers SET name = ?, address = ?, email = ?, "
+            + "email_normalized = ?, email_hash = ?, status = ?, version = ? WHERE customer_id = ? AND version = ?";
+    static final String INSERT_LOOKUP = "INSERT INTO customer_email_lookup (email, customer_id) VALUES (?, ?)";
+
+    static final RowMapper<CustomerEntity> CUSTOMER_ROW_MAPPER = (rs, rowNum) -> CustomerEntity.builder()
+            .customerId(rs.getLong("customer_id"))
+            .name(rs.getString("name"))
+            .address(rs.getString("address"))
+            .email(rs.getString("email"))
+            .emailNormalized(rs.getString("email_normalized"))
+            .emailHash(rs.getLong("email_hash"))
+            .status(rs.getBoolean("status"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final CustomerShards shards;
+    private final CustomerShards previousShards;
+    private final LongSupplier idSupplier;
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * @param shards         the current topology
+     * @param previousShards the topology being migrated away from, or null
+     * @param idSupplier     source of new customer ids, normally the configured
+     *                       {@link com.example.customer_service_integration_test.id.IdGenerator}
+     */
+    public ShardedCustomerRepository(CustomerShards shards, CustomerShards previousShards, LongSupplier idSupplier) {
+        this.shards = Objects.requireNonNull(shards);
+        this.previousShards = previousShards;
+        this.idSupplier = Objects.requireNonNull(idSupplier);
+        int threads = shards.size() + (previousShards == null ? 0 : previousShards.size());
+        this.scatterExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "customer-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CustomerShards getShards() {
+        return shards;
+    }
+
+    public CustomerShards getPreviousShards() {
+        return previousShards;
+    }
+
+    /**
+     * Inserts a new customer (null id) or updates an existing one, with the same derived email
+     * columns and version semantics as the JPA entity
+     * @param customer the customer to save; a generated id and the new version are written back
+     * @return the saved customer
+     * @throws DuplicateKeyException if the email already belongs to another customer
+     * @throws OptimisticLockingFailureException if the customer carries a version that is no longer current
+     */
+    public CustomerEntity save(CustomerEntity customer) {
+        customer.deriveEmailColumns();
+        if (customer.getCustomerId() == null) {
+            customer.setCustomerId(idSupplier.getAsLong());
+            insert(customer);
+            return customer;
+        }
+
+        Optional<CustomerEntity> existing = findByCustomerId(customer.getCustomerId());
+        if (existing.isEmpty()) {
+            insert(customer);
+            return customer;
+        }
+
+        CustomerEntity previous = existing.get();
+        if (customer.getVersion() != null && !customer.getVersion().equals(previous.getVersion())) {
+            throw conflict(customer.getCustomerId());
+        }
+        boolean emailChanged = !previous.getEmailNormalized().equals(customer.getEmailNormalized());
+
+        // Write the row before claiming the new email, so a failed write never leaves a claim behind
+        writeRow(customer, previous.getVersion());
+        if (emailChanged) {
+            try {
+                claimEmail(customer.getEmail(), customer.getCustomerId());
+            } catch (RuntimeException e) {
+                releaseEmail(customer.getEmail(), customer.getCustomerId());
+                writeRow(previous, customer.getVersion());
+                customer.setVersion(previous.getVersion());
+                throw e;
+            }
+            releaseEmail(previous.getEmail(), customer.getCustomerId());
+        }
+        return customer;
+    }
+
+    public Optional<CustomerEntity> findByCustomerId(Long customerId) {
+        if (customerId == null) {
+            return Optional.empty();
+        }
+        Optional<CustomerEntity> found = findRow(shards, customerId);
+        if (found.isEmpty() && previousShards != null) {
+            found = findRow(previousShards, customerId);
+        }
+        return found;
+    }
+
+    public Optional<CustomerEntity> findByEmail(String rawEmail) {
+        String email = NormalizedEmail.normalize(rawEmail);
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long customerId = lookupEmail(shards, email);
+        if (customerId == null && previousShards != null) {
+            customerId = lookupEmail(previousShards, email);
+        }
+        if (customerId == null) {
+            return Optional.empty();
+        }
+        // The entry can briefly outlive an email change, trust the row's own column
+        return findByCustomerId(customerId).filter(customer -> email.equals(customer.getEmailNormalized()));
+    }
+
+    public boolean existsByCustomerId(Long customerId) {
+        return findByCustomerId(customerId).isPresent();
+    }
+
+    public void deleteById(Long customerId) {
+        findByCustomerId(customerId).ifPresent(customer -> {
+            // Previous topology first: a rebalancer copy in flight holds that row lock, so once the
+            // delete gets past it the copy is already in the current topology and is removed below
+            deleteFromPrevious(customerId);
+            shards.shard(shards.shardForCustomerId(customerId))
+                    .update("DELETE FROM customers WHERE customer_id = ?", customerId);
+            releaseEmail(customer.getEmail(), customerId);
+        });
+    }
+
+    /**
+     * Scatter-gather scan over every shard
+     * @return all customers, in no particular order
+     */
+    public List<CustomerEntity> findAll() {
+        Map<Long, CustomerEntity> merged = new LinkedHashMap<>();
+        if (previousShards != null) {
+            scatter(previousShards, shard -> shard.query(SELECT_COLUMNS, CUSTOMER_ROW_MAPPER))
+                    .forEach(customer -> merged.put(customer.getCustomerId(), customer));
+        }
+        // Current topology wins over rows not yet removed from the previous one
+        scatter(shards, shard -> shard.query(SELECT_COLUMNS, CUSTOMER_ROW_MAPPER))
+                .forEach(customer -> merged.put(customer.getCustomerId(), customer));
+        return new ArrayList<>(merged.values());
+    }
+
+    public long count() {
+        if (previousShards != null) {
+            // Rows can briefly exist in both topologies, count distinct ids instead
+            return findAll().size();
+        }
+        long total = 0;
+        for (Long shardCount : scatter(shards,
+                shard -> List.of(shard.queryForObject("SELECT COUNT(*) FROM customers", Long.class)))) {
+            total += shardCount;
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        scatterExecutor.shutdownNow();
+        if (previousShards != null) {
+            previousShards.close();
+        }
+    }
+
+    private void insert(CustomerEntity customer) {
+        long customerId = customer.getCustomerId();
+        customer.setVersion(0L);
+        claimEmail(customer.getEmail(), customerId);
+        try {
+            insertRow(shards.shard(shards.shardForCustomerId(customerId)), customer);
+        } catch (RuntimeException e) {
+            releaseEmail(customer.getEmail(), customerId);
+            throw e;
+        }
+    }
+
+    /**
+     * Updates the row in the current topology, moving it there from the previous one if needed.
+     * The write only applies while the stored version is still the expected one.
+     */
+    private void writeRow(CustomerEntity customer, long expectedVersion) {
+        long customerId = customer.getCustomerId();
+        JdbcTemplate target = shards.shard(shards.shardForCustomerId(customerId));
+        customer.setVersion(expectedVersion + 1);
+        try {
+            if (updateRow(target, customer, expectedVersion) > 0) {
+                return;
+            }
+            if (findRow(shards, customerId).isPresent()) {
+                throw conflict(customerId);
+            }
+            // Row still lives in the previous topology, move it as part of the write
+            try {
+                insertRow(target, customer);
+            } catch (DuplicateKeyException e) {
+                // The rebalancer copied it meanwhile, overwrite the copy if it is still the version read
+                if (updateRow(target, customer, expectedVersion) == 0) {
+                    throw conflict(customerId);
+                }
+            }
+        } catch (RuntimeException e) {
+            customer.setVersion(expectedVersion);
+            throw e;
+        }
+        deleteFromPrevious(customerId);
+    }
+
+    private static int updateRow(JdbcTemplate shard, CustomerEntity customer, long expectedVersion) {
+        return shard.update(UPDATE_CUSTOMER, customer.getName(), customer.getAddress(), customer.getEmail(),
+                customer.getEmailNormalized(), customer.getEmailHash(), customer.isStatus(), customer.getVersion(),
+                customer.getCustomerId(), expectedVersion);
+    }
+
+    /**
+     * Inserts the row as is, including its derived email columns and version
+     */
+    static void insertRow(JdbcTemplate shard, CustomerEntity customer) {
+        shard.update(INSERT_CUSTOMER, customer.getCustomerId(), customer.getName(), customer.getAddress(),
+                customer.getEmail(), customer.getEmailNormalized(), customer.getEmailHash(), customer.isStatus(),
+                customer.getVersion());
+    }
+
+    private static OptimisticLockingFailureException conflict(long customerId) {
+        return new OptimisticLockingFailureException("Customer " + customerId + " was modified concurrently");
+    }
+
+    private void claimEmail(String rawEmail, long customerId) {
+        String email = NormalizedEmail.normalize(rawEmail);
+        if (previousShards != null) {
+            Long owner = lookupEmail(previousShards, email);
+            if (owner != null && owner != customerId) {
+                throw new DuplicateKeyException("Email already exists: " + email);
+            }
+        }
+        shards.shard(shards.shardForEmail(email)).update(INSERT_LOOKUP, email, customerId);
+    }
+
+    private void releaseEmail(String rawEmail, long customerId) {
+        String email = NormalizedEmail.normalize(rawEmail);
+        String sql = "DELETE FROM customer_email_lookup WHERE email = ? AND customer_id = ?";
+        // Previous topology first, for the same reason as in deleteById
+        if (previousShards != null) {
+            previousShards.shard(previousShards.shardForEmail(email)).update(sql, email, customerId);
+        }
+        shards.shard(shards.shardForEmail(email)).update(sql, email, customerId);
+    }
+
+    private void deleteFromPrevious(long customerId) {
+        if (previousShards != null) {
+            previousShards.shard(previousShards.shardForCustomerId(customerId))
+                    .update("DELETE FROM customers WHERE customer_id = ?", customerId);
+        }
+    }
+
+    private static Optional<CustomerEntity> findRow(CustomerShards topology, long customerId) {
+        List<CustomerEntity> rows = topology.shard(topology.shardForCustomerId(customerId))
+                .query(SELECT_COLUMNS + " WHERE customer_id = ?", CUSTOMER_ROW_MAPPER, customerId);
+        return rows.stream().findFirst();
+    }
+
+    private static Long lookupEmail(CustomerShards topology, String email) {
+        List<Long> ids = topology.shard(topology.shardForEmail(email)).queryForList(
+                "SELECT customer_id FROM customer_email_lookup WHERE email = ?", Long.class, email);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private <T> List<T> scatter(CustomerShards topology, Function<JdbcTemplate, List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(topology.size());
+        for (JdbcTemplate shard : topology.all()) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), scatterExecutor));
+        }
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+}
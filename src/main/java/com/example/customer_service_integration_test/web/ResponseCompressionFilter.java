@@ -0,0 +1,112 @@
+package com.example.customer_service_integration_test.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses JSON responses with gzip or deflate, whichever the client prefers in Accept-Encoding.
+ *
+ * Applied to the multi-customer responses (batch and listings), where bodies are large enough
+ * for compression to pay off. Bodies below the minimum size are sent as is.
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private final int minSize;
+
+    public ResponseCompressionFilter(int minSize) {
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        String contentType = wrapper.getContentType();
+        if (body.length < minSize || contentType == null || !contentType.contains("json")
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = compress(body, encoding);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        response.setContentLength(compressed.length);
+        response.getOutputStream().write(compressed);
+    }
+
+    /**
+     * Picks gzip or deflate from an Accept-Encoding header, honouring q-values
+     * @return the chosen encoding, or null if neither is acceptable
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        // -1 means not listed, which falls back to the wildcard's quality
+        double gzipQuality = -1;
+        double deflateQuality = -1;
+        double wildcardQuality = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzipQuality = quality;
+                case DEFLATE -> deflateQuality = quality;
+                case "*" -> wildcardQuality = quality;
+                default -> {
+                }
+            }
+        }
+        gzipQuality = gzipQuality < 0 ? wildcardQuality : gzipQuality;
+        deflateQuality = deflateQuality < 0 ? wildcardQuality : deflateQuality;
+        if (gzipQuality <= 0 && deflateQuality <= 0) {
+            return null;
+        }
+        return gzipQuality >= deflateQuality ? GZIP : DEFLATE;
+    }
+
+    private static byte[] compress(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream output = GZIP.equals(encoding)
+                ? new GZIPOutputStream(buffer, 8192)
+                : new DeflaterOutputStream(buffer)) {
+            output.write(body);
+        }
+        return buffer.toByteArray();
+    }
+}
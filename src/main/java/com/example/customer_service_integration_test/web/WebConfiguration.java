@@ -0,0 +1,19 @@
+package com.example.customer_service_integration_test.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WebConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+            @Value("${customer.compression.min-size:1024}") int minSize) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ResponseCompressionFilter(minSize));
+        registration.addUrlPatterns("/api/customer/batch", "/api/customer/list", "/api/customer/analytics/*");
+        return registration;
+    }
+}
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS customer_id_block (
+    id INT NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS customers (
+    customer_id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    address VARCHAR(255),
+    email VARCHAR(100) NOT NULL,
+    email_normalized VARCHAR(100) NOT NULL,
+    email_hash BIGINT NOT NULL,
+    status BOOLEAN NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_customers_email_normalized UNIQUE (email_normalized)
+);
+
+CREATE INDEX IF NOT EXISTS idx_customers_email_hash ON customers (email_hash);
+
+CREATE TABLE IF NOT EXISTS customer_email_lookup (
+    email VARCHAR(100) NOT NULL PRIMARY KEY,
+    customer_id BIGINT NOT NULL
+);
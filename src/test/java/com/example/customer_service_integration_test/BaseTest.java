@@ -1,22 +1,37 @@
 package com.example.customer_service_integration_test;
 
 import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.metrics.LatencyRecorder;
+import com.example.customer_service_integration_test.model.BatchCreateResponse;
+import com.example.customer_service_integration_test.model.BatchItemResult;
 import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.model.CustomerSlice;
 import com.example.customer_service_integration_test.repository.CustomerRepository;
+import com.example.customer_service_integration_test.traffic.TrafficRecorder;
+import com.example.customer_service_integration_test.traffic.TrafficRecordingInterceptor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.*;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
 import org.springframework.web.client.RestTemplate;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 @SpringBootTest
 @TestPropertySource(locations = "classpath:application-test.properties")
 public class BaseTest extends AbstractTestNGSpringContextTests {
@@ -31,6 +46,9 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
 
     protected Properties testProperties;
 
+    // Ids of customers created through the helpers, removed in bulk after the class finishes
+    protected final Set<Long> createdCustomerIds = ConcurrentHashMap.newKeySet();
+
     protected void setup() {
         restTemplate = new RestTemplate();
         // Configure RestTemplate to not throw exceptions for 4xx/5xx responses
@@ -41,6 +59,11 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
                 // Don't throw exception, let the response be handled normally
             }
         });
+        if (TrafficRecorder.isEnabled()) {
+            // Buffer responses so the recorder and the message converters can both read the body
+            restTemplate.setRequestFactory(new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()));
+            restTemplate.getInterceptors().add(new TrafficRecordingInterceptor());
+        }
         objectMapper = new ObjectMapper();
         loadTestProperties();
         baseUrl = getTestProperty("api.base.url", "http://localhost:8081");
@@ -76,6 +99,68 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
         return testProperties.getProperty(key, defaultValue);
     }
 
+    /**
+     * Reads a benchmark or perf setting, a -D system property wins over application-test.properties
+     */
+    protected String getBenchmarkProperty(String key, String defaultValue) {
+        return System.getProperty(key, getTestProperty(key, defaultValue));
+    }
+
+    /**
+     * Average time of one call, measured over a timed loop after untimed warm-up calls
+     *
+     * @param call             the operation to time
+     * @param warmupIterations calls made before timing starts
+     * @param iterations       timed calls
+     * @return milliseconds per call
+     */
+    protected double averageMillis(Supplier<?> call, int warmupIterations, int iterations) {
+        for (int i = 0; i < warmupIterations; i++) {
+            call.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * Returns a run and worker scoped variant of the given email, see {@link TestDataIsolation#uniqueEmail(String)}
+     */
+    protected String uniqueEmail(String email) {
+        return TestDataIsolation.uniqueEmail(email);
+    }
+
+    /**
+     * Registers a customer id for cleanup after the test class finishes
+     *
+     * @param customerId the id of a customer created by this test class
+     */
+    protected void trackCreatedCustomer(Long customerId) {
+        if (customerId != null) {
+            createdCustomerIds.add(customerId);
+        }
+    }
+
+    /**
+     * Removes every tracked customer with a single batched delete
+     */
+    @AfterClass(alwaysRun = true)
+    public void cleanupCreatedCustomers() {
+        if (createdCustomerIds.isEmpty() || customerRepository == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(createdCustomerIds);
+        try {
+            customerRepository.deleteAllByIdInBatch(ids);
+            createdCustomerIds.removeAll(ids);
+            System.out.println("Cleaned up " + ids.size() + " customers created by " + getClass().getSimpleName());
+        } catch (Exception e) {
+            System.err.println("Error cleaning up customers " + ids + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Verifies that customer data was NOT saved in the database (for invalid data tests)
      *
@@ -109,7 +194,12 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
         String createUrl = baseUrl + customerServiceEndPoint;
 
         //SAVE customer object here
-        return restTemplate.postForEntity(createUrl, request, CustomerData.class);
+        ResponseEntity<CustomerData> response = LatencyRecorder.time("rest-template.create",
+                () -> restTemplate.postForEntity(createUrl, request, CustomerData.class));
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            trackCreatedCustomer(response.getBody().getCustomerId());
+        }
+        return response;
     }
 
     protected ResponseEntity<CustomerData> updateCustomer(CustomerData savedCustomerData) {
@@ -123,7 +213,8 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
         String createUrl = baseUrl + customerServiceEndPoint+ "/"+ savedCustomerData.getCustomerId();
 
         //Update customer object here
-        return restTemplate.exchange(createUrl,HttpMethod.PUT,request, CustomerData.class);
+        return LatencyRecorder.time("rest-template.update",
+                () -> restTemplate.exchange(createUrl,HttpMethod.PUT,request, CustomerData.class));
     }
 
     protected ResponseEntity<CustomerData> deleteCustomer(CustomerData savedCustomerData) {
@@ -137,7 +228,12 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
         String createUrl = baseUrl + customerServiceEndPoint+ "/"+ savedCustomerData.getCustomerId();
 
         //Delete customer object here
-        return restTemplate.exchange(createUrl,HttpMethod.DELETE,request, CustomerData.class);
+        ResponseEntity<CustomerData> response = LatencyRecorder.time("rest-template.delete",
+                () -> restTemplate.exchange(createUrl,HttpMethod.DELETE,request, CustomerData.class));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            createdCustomerIds.remove(savedCustomerData.getCustomerId());
+        }
+        return response;
     }
 
     protected ResponseEntity<CustomerData> getCustomer(CustomerData savedCustomerData) {
@@ -151,7 +247,76 @@ public class BaseTest extends AbstractTestNGSpringContextTests {
         String createUrl = baseUrl + customerServiceEndPoint+ "/"+ savedCustomerData.getCustomerId();
 
         //Delete customer object here
-        return restTemplate.exchange(createUrl,HttpMethod.GET,request, CustomerData.class);
+        return LatencyRecorder.time("rest-template.get",
+                () -> restTemplate.exchange(createUrl,HttpMethod.GET,request, CustomerData.class));
+    }
+
+    /**
+     * Sends a conditional GET, the service answers 304 Not Modified without a body while the ETag still matches
+     *
+     * @param customerId the customer to load
+     * @param etag       the ETag from a previous response
+     */
+    protected ResponseEntity<CustomerData> getCustomerIfNoneMatch(Long customerId, String etag) {
+        HttpHeaders headers = createHeaders();
+        headers.setIfNoneMatch(etag);
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+        String getUrl = baseUrl + customerServiceEndPoint + "/" + customerId;
+
+        return LatencyRecorder.time("rest-template.conditional-get",
+                () -> restTemplate.exchange(getUrl, HttpMethod.GET, request, CustomerData.class));
+    }
+
+    /**
+     * Creates several customers with one call to the batch endpoint
+     *
+     * @param customers the customers to create
+     * @return the per-item results
+     */
+    protected ResponseEntity<BatchCreateResponse> createCustomersBatch(List<CustomerData> customers) {
+        HttpEntity<List<CustomerData>> request = new HttpEntity<>(customers, createHeaders());
+        String batchUrl = baseUrl + customerServiceEndPoint + "/batch";
+
+        ResponseEntity<BatchCreateResponse> response = LatencyRecorder.time("rest-template.batch-create",
+                () -> restTemplate.postForEntity(batchUrl, request, BatchCreateResponse.class));
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            for (BatchItemResult result : response.getBody().getResults()) {
+                if (result.getCustomer() != null) {
+                    trackCreatedCustomer(result.getCustomer().getCustomerId());
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Loads several customers with one call to the multi-get endpoint
+     *
+     * @param customerIds the ids to load
+     * @return the customers found, in request order
+     */
+    protected ResponseEntity<CustomerData[]> getCustomersByIds(List<Long> customerIds) {
+        String batchUrl = baseUrl + customerServiceEndPoint + "/batch?ids="
+                + customerIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        HttpEntity<Void> request = new HttpEntity<>(createHeaders());
+
+        return LatencyRecorder.time("rest-template.batch-get",
+                () -> restTemplate.exchange(batchUrl, HttpMethod.GET, request, CustomerData[].class));
+    }
+
+    /**
+     * Loads one page of the customer listing
+     *
+     * @param page zero-based page number
+     * @param size page size
+     * @return the page with has-next and the cached total count
+     */
+    protected ResponseEntity<CustomerSlice> listCustomers(int page, int size) {
+        String listUrl = baseUrl + customerServiceEndPoint + "/list?page=" + page + "&size=" + size;
+        HttpEntity<Void> request = new HttpEntity<>(createHeaders());
+
+        return LatencyRecorder.time("rest-template.list",
+                () -> restTemplate.exchange(listUrl, HttpMethod.GET, request, CustomerSlice.class));
     }
 
     /**
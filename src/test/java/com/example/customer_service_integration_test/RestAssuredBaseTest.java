@@ -1,8 +1,11 @@
 package com.example.customer_service_integration_test;
 
 import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.metrics.LatencyRecorder;
 import com.example.customer_service_integration_test.model.CustomerData;
 import com.example.customer_service_integration_test.repository.CustomerRepository;
+import com.example.customer_service_integration_test.traffic.TrafficRecorder;
+import com.example.customer_service_integration_test.traffic.TrafficRecordingFilter;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
@@ -12,11 +15,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @SpringBootTest
 @TestPropertySource(locations = "classpath:application-test.properties")
@@ -30,6 +39,9 @@ public class RestAssuredBaseTest extends AbstractTestNGSpringContextTests {
     protected String customerServiceEndPoint;
     protected Properties testProperties;
 
+    // Ids of customers created through the helpers, removed in bulk after the class finishes
+    protected final Set<Long> createdCustomerIds = ConcurrentHashMap.newKeySet();
+
     protected void setupRestAssured() {
         loadTestProperties();
         baseUrl = getTestProperty("api.base.url", "http://localhost:8081");
@@ -38,6 +50,14 @@ public class RestAssuredBaseTest extends AbstractTestNGSpringContextTests {
         // Configure RestAssured
         RestAssured.baseURI = baseUrl;
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        registerTrafficRecording();
+    }
+
+    private static synchronized void registerTrafficRecording() {
+        if (TrafficRecorder.isEnabled()
+                && RestAssured.filters().stream().noneMatch(filter -> filter instanceof TrafficRecordingFilter)) {
+            RestAssured.filters(new TrafficRecordingFilter());
+        }
     }
 
     protected void loadTestProperties() {
@@ -62,6 +82,54 @@ public class RestAssuredBaseTest extends AbstractTestNGSpringContextTests {
         return testProperties.getProperty(key, defaultValue);
     }
 
+    /**
+     * Returns a run and worker scoped variant of the given email, see {@link TestDataIsolation#uniqueEmail(String)}
+     */
+    protected String uniqueEmail(String email) {
+        return TestDataIsolation.uniqueEmail(email);
+    }
+
+    /**
+     * Registers a customer id for cleanup after the test class finishes
+     *
+     * @param customerId the id of a customer created by this test class
+     */
+    protected void trackCreatedCustomer(Long customerId) {
+        if (customerId != null) {
+            createdCustomerIds.add(customerId);
+        }
+    }
+
+    /**
+     * Registers the customer returned by a successful create response for cleanup
+     */
+    protected void trackCreatedCustomer(Response response) {
+        if (response.getStatusCode() == 200) {
+            Object customerId = response.path("customerId");
+            if (customerId instanceof Number) {
+                trackCreatedCustomer(((Number) customerId).longValue());
+            }
+        }
+    }
+
+    /**
+     * Removes every tracked customer with a single batched delete
+     */
+    @AfterClass(alwaysRun = true)
+    public void cleanupCreatedCustomers() {
+        if (createdCustomerIds.isEmpty() || customerRepository == null) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(createdCustomerIds);
+        try {
+            customerRepository.deleteAllByIdInBatch(ids);
+            createdCustomerIds.removeAll(ids);
+            System.out.println("Cleaned up " + ids.size() + " customers created by " + getClass().getSimpleName());
+        } catch (Exception e) {
+            System.err.println("Error cleaning up customers " + ids + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Creates a RestAssured request specification with common headers
      */
@@ -75,50 +143,105 @@ public class RestAssuredBaseTest extends AbstractTestNGSpringContextTests {
      * Creates a customer using RestAssured
      */
     protected Response createCustomerWithRestAssured(CustomerData customerData) {
-        return getRequestSpec()
+        Response response = LatencyRecorder.time("rest-assured.create", () -> getRequestSpec()
                 .body(customerData)
                 .when()
                 .post(customerServiceEndPoint)
                 .then()
                 .extract()
-                .response();
+                .response());
+        trackCreatedCustomer(response);
+        return response;
     }
 
     /**
      * Updates a customer using RestAssured
      */
     protected Response updateCustomerWithRestAssured(CustomerData customerData) {
-        return getRequestSpec()
+        return LatencyRecorder.time("rest-assured.update", () -> getRequestSpec()
                 .body(customerData)
                 .when()
                 .put(customerServiceEndPoint + "/" + customerData.getCustomerId())
                 .then()
                 .extract()
-                .response();
+                .response());
     }
 
     /**
      * Gets a customer using RestAssured
      */
     protected Response getCustomerWithRestAssured(Long customerId) {
-        return getRequestSpec()
+        return LatencyRecorder.time("rest-assured.get", () -> getRequestSpec()
                 .when()
                 .get(customerServiceEndPoint + "/" + customerId)
                 .then()
                 .extract()
-                .response();
+                .response());
+    }
+
+    /**
+     * Gets a customer with If-None-Match using RestAssured
+     */
+    protected Response getCustomerIfNoneMatchWithRestAssured(Long customerId, String etag) {
+        return LatencyRecorder.time("rest-assured.conditional-get", () -> getRequestSpec()
+                .header("If-None-Match", etag)
+                .when()
+                .get(customerServiceEndPoint + "/" + customerId)
+                .then()
+                .extract()
+                .response());
     }
 
     /**
      * Deletes a customer using RestAssured
      */
     protected Response deleteCustomerWithRestAssured(Long customerId) {
-        return getRequestSpec()
+        Response response = LatencyRecorder.time("rest-assured.delete", () -> getRequestSpec()
                 .when()
                 .delete(customerServiceEndPoint + "/" + customerId)
                 .then()
                 .extract()
-                .response();
+                .response());
+        if (response.getStatusCode() / 100 == 2) {
+            createdCustomerIds.remove(customerId);
+        }
+        return response;
+    }
+
+    /**
+     * Creates several customers with one call to the batch endpoint using RestAssured
+     */
+    protected Response createCustomersBatchWithRestAssured(List<CustomerData> customers) {
+        Response response = LatencyRecorder.time("rest-assured.batch-create", () -> getRequestSpec()
+                .body(customers)
+                .when()
+                .post(customerServiceEndPoint + "/batch")
+                .then()
+                .extract()
+                .response());
+        if (response.getStatusCode() == 200) {
+            List<Number> customerIds = response.jsonPath().getList("results.customer.customerId");
+            for (Number customerId : customerIds) {
+                if (customerId != null) {
+                    trackCreatedCustomer(customerId.longValue());
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Loads several customers with one call to the multi-get endpoint using RestAssured
+     */
+    protected Response getCustomersByIdsWithRestAssured(List<Long> customerIds) {
+        String ids = customerIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return LatencyRecorder.time("rest-assured.batch-get", () -> getRequestSpec()
+                .queryParam("ids", ids)
+                .when()
+                .get(customerServiceEndPoint + "/batch")
+                .then()
+                .extract()
+                .response());
     }
 
     /**
@@ -0,0 +1,46 @@
+package com.example.customer_service_integration_test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Namespaces test data per run and per worker thread so the suite can run with
+ * parallel="methods" and be re-run against the same database without hitting the
+ * unique email constraint.
+ */
+public final class TestDataIsolation {
+
+    /**
+     * Identifies this JVM's run; different runs against the same database never share emails
+     */
+    public static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private TestDataIsolation() {
+    }
+
+    /**
+     * Rewrites a well-formed email into a run/worker scoped variant, e.g.
+     * duplicate@test.com -> duplicate.k2x9a1-w14-3@test.com.
+     * Emails that are not of the form local@domain are returned unchanged so that
+     * invalid-format test cases keep testing exactly what they were written for.
+     *
+     * @param email the email to namespace
+     * @return a unique email for the current worker thread
+     */
+    public static String uniqueEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@') || at == email.length() - 1) {
+            return email;
+        }
+        return email.substring(0, at) + "." + RUN_ID
+                + "-w" + Thread.currentThread().getId()
+                + "-" + SEQUENCE.incrementAndGet()
+                + email.substring(at);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.customer_service_integration_test.analytics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class CustomerColumnarSnapshotTest {
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    @Test
+    public void test_aggregates_follow_inserts_updates_and_deletes() {
+        CustomerColumnarSnapshot snapshot = new CustomerColumnarSnapshot(4);
+        snapshot.upsert(1, 0, "Stockholm", "a@Example.com", true);
+        snapshot.upsert(2, 0, "Oslo", "b@example.com", false);
+        snapshot.upsert(3, 0, null, "c@test.org", true);
+
+        Assert.assertEquals(snapshot.countByStatus(pool), Map.of(true, 2L, false, 1L));
+        Assert.assertEquals(snapshot.countByEmailDomain(pool), Map.of("example.com", 2L, "test.org", 1L));
+        Assert.assertEquals(snapshot.countByAddress(pool), Map.of("Stockholm", 1L, "Oslo", 1L, "", 1L));
+
+        // Update moves the row between groups without adding a row
+        snapshot.upsert(2, 1, "Stockholm", "b@test.org", true);
+        snapshot.delete(1, 0);
+        snapshot.delete(99, 0);
+
+        Assert.assertEquals(snapshot.size(), 2);
+        Assert.assertFalse(snapshot.contains(1));
+        Assert.assertEquals(snapshot.countByStatus(pool), Map.of(true, 2L, false, 0L));
+        Assert.assertEquals(snapshot.countByEmailDomain(pool), Map.of("test.org", 2L));
+        Assert.assertEquals(snapshot.countByAddress(pool), Map.of("Stockholm", 1L, "", 1L));
+    }
+
+    @Test
+    public void test_parallel_aggregates_match_a_plain_count_across_growth() {
+        CustomerColumnarSnapshot snapshot = new CustomerColumnarSnapshot(64);
+        Map<Long, String[]> expected = new HashMap<>();
+        Random random = new Random(42);
+        // Enough rows to grow several times and split into many fork-join leaves
+        for (long id = 1; id <= 300_000; id++) {
+            String city = "City" + random.nextInt(50);
+            String email = "user" + id + "@domain" + random.nextInt(20) + ".com";
+            boolean status = random.nextBoolean();
+            snapshot.upsert(id, 0, city, email, status);
+            expected.put(id, new String[]{city, "domain" + email.substring(email.indexOf("@domain") + 7), String.valueOf(status)});
+        }
+        for (long id = 1; id <= 300_000; id += 7) {
+            snapshot.delete(id, 0);
+            expected.remove(id);
+        }
+
+        Map<String, Long> byCity = new HashMap<>();
+        Map<String, Long> byDomain = new HashMap<>();
+        long active = 0;
+        for (String[] row : expected.values()) {
+            byCity.merge(row[0], 1L, Long::sum);
+            byDomain.merge(row[1], 1L, Long::sum);
+            active += Boolean.parseBoolean(row[2]) ? 1 : 0;
+        }
+
+        Assert.assertEquals(snapshot.size(), expected.size());
+        Assert.assertEquals(snapshot.countByAddress(pool), byCity);
+        Assert.assertEquals(snapshot.countByEmailDomain(pool), byDomain);
+        Assert.assertEquals(snapshot.countByStatus(pool), Map.of(true, active, false, expected.size() - active));
+    }
+
+    @Test
+    public void test_ignores_changes_older_than_the_applied_version() {
+        CustomerColumnarSnapshot snapshot = new CustomerColumnarSnapshot(4);
+        Assert.assertTrue(snapshot.upsert(1, 2, "Oslo", "a@new.com", false));
+        // Earlier versions committed first but were delivered late
+        Assert.assertFalse(snapshot.upsert(1, 1, "Stockholm", "a@old.com", true));
+        Assert.assertFalse(snapshot.upsert(1, 2, "Stockholm", "a@old.com", true));
+        Assert.assertEquals(snapshot.countByAddress(pool), Map.of("Oslo", 1L));
+
+        // A delete arriving before the update it followed leaves a tombstone the update cannot revive
+        Assert.assertTrue(snapshot.delete(2, 3));
+        Assert.assertFalse(snapshot.upsert(2, 3, "Bergen", "b@test.org", true));
+        Assert.assertFalse(snapshot.contains(2));
+
+        Assert.assertFalse(snapshot.delete(1, 1));
+        Assert.assertTrue(snapshot.delete(1, 2));
+        Assert.assertEquals(snapshot.size(), 0);
+        Assert.assertEquals(snapshot.countByStatus(pool), Map.of(true, 0L, false, 0L));
+        Assert.assertEquals(snapshot.countByAddress(pool), Map.of());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.customer_service_integration_test.client;
+
+import com.example.customer_service_integration_test.metrics.LatencyRecorder;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking client for the customer API on the JDK {@link HttpClient}.
+ *
+ * Every operation returns a {@link CompletableFuture} of the same {@link ResponseEntity} shapes the
+ * BaseTest helpers return. Requests are multiplexed over the client's selector and completed on a
+ * small fixed pool, so the number of threads does not grow with the number of requests in flight;
+ * the in-flight limit caps open connections and server load instead. Latencies are recorded under
+ * {@code async.*} in {@link LatencyRecorder}.
+ */
+public class AsyncCustomerApiClient implements AutoCloseable {
+
+    private static final String JSON = "application/json";
+
+    private final String customerEndpoint;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final InFlightLimiter limiter;
+
+    /**
+     * @param customerEndpoint the customer API root, e.g. http://localhost:8081/api/customer
+     * @param maxInFlight      the most requests sent but not yet answered; later calls queue
+     * @param threads          threads completing responses
+     */
+    public AsyncCustomerApiClient(String customerEndpoint, int maxInFlight, int threads) {
+        this.customerEndpoint = customerEndpoint;
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-customer-client-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.limiter = new InFlightLimiter(maxInFlight);
+    }
+
+    public CompletableFuture<ResponseEntity<CustomerData>> create(CustomerData customerData) {
+        return send("async.create", HttpRequest.newBuilder(URI.create(customerEndpoint))
+                .header("Content-Type", JSON)
+                .POST(jsonBody(customerData)), CustomerData.class);
+    }
+
+    public CompletableFuture<ResponseEntity<CustomerData>> get(Long customerId) {
+        return send("async.get", HttpRequest.newBuilder(URI.create(customerEndpoint + "/" + customerId))
+                .GET(), CustomerData.class);
+    }
+
+    public CompletableFuture<ResponseEntity<CustomerData>> update(CustomerData customerData) {
+        return send("async.update", HttpRequest.newBuilder(URI.create(customerEndpoint + "/" + customerData.getCustomerId()))
+                .header("Content-Type", JSON)
+                .PUT(jsonBody(customerData)), CustomerData.class);
+    }
+
+    public CompletableFuture<ResponseEntity<Void>> delete(Long customerId) {
+        return send("async.delete", HttpRequest.newBuilder(URI.create(customerEndpoint + "/" + customerId))
+                .DELETE(), Void.class);
+    }
+
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    public int queued() {
+        return limiter.queued();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> send(String operation, HttpRequest.Builder builder, Class<T> type) {
+        HttpRequest request = builder.header("Accept", JSON).timeout(Duration.ofSeconds(30)).build();
+        return limiter.submit(() -> {
+            long start = System.nanoTime();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> {
+                        LatencyRecorder.record(operation, start, System.nanoTime());
+                        return toEntity(response, type);
+                    });
+        });
+    }
+
+    private <T> ResponseEntity<T> toEntity(HttpResponse<byte[]> response, Class<T> type) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        // Error bodies are ApiError documents, not T; callers only need the status for those
+        if (type == Void.class || !status.is2xxSuccessful() || response.body().length == 0) {
+            return ResponseEntity.status(status).build();
+        }
+        try {
+            return ResponseEntity.status(status).body(objectMapper.readValue(response.body(), type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getSimpleName() + " response", e);
+        }
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write request body", e);
+        }
+    }
+}
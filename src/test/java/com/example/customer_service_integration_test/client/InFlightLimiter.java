@@ -0,0 +1,93 @@
+package com.example.customer_service_integration_test.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of requests in flight without blocking the caller.
+ *
+ * Calls over the limit are queued and started by whichever request completes next, so no thread
+ * ever waits for a permit. Both submit and completion add work before draining, so a queued call
+ * cannot be stranded while a permit is free. Only one thread drains at a time and a drain request
+ * arriving meanwhile makes it loop again, so calls that complete synchronously while being started
+ * do not recurse into another drain.
+ */
+final class InFlightLimiter {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    InFlightLimiter(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("In-flight limit must be at least 1");
+        }
+        this.limit = limit;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                inFlight.decrementAndGet();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int queued() {
+        return waiting.size();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            // The thread already draining will run another pass
+            return;
+        }
+        int requests = 1;
+        do {
+            startWaiting();
+            requests = drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    private void startWaiting() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                // Another thread took the last queued call; give the permit back
+                inFlight.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+}
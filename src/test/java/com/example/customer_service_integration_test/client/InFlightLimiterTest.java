@@ -0,0 +1,82 @@
+package com.example.customer_service_integration_test.client;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InFlightLimiterTest {
+
+    @Test
+    public void test_limit_is_never_exceeded_and_every_call_completes() {
+        InFlightLimiter limiter = new InFlightLimiter(4);
+        ScheduledExecutorService completer = Executors.newScheduledThreadPool(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int value = i;
+                results.add(limiter.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    CompletableFuture<Integer> response = new CompletableFuture<>();
+                    completer.schedule(() -> {
+                        running.decrementAndGet();
+                        response.complete(value);
+                    }, 1, TimeUnit.MILLISECONDS);
+                    return response;
+                }));
+            }
+            // Submitting never blocked, so most calls are still queued here
+            Assert.assertTrue(limiter.queued() > 0, "Calls over the limit should queue");
+            for (int i = 0; i < results.size(); i++) {
+                Assert.assertEquals(results.get(i).join().intValue(), i);
+            }
+            Assert.assertTrue(peak.get() <= 4, "At most 4 calls should run at once, saw " + peak.get());
+            Assert.assertEquals(limiter.inFlight(), 0);
+            Assert.assertEquals(limiter.queued(), 0);
+        } finally {
+            completer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_failed_call_releases_its_permit() {
+        InFlightLimiter limiter = new InFlightLimiter(1);
+        CompletableFuture<Object> failed = limiter.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        Assert.assertTrue(failed.isCompletedExceptionally());
+        Assert.assertEquals(limiter.submit(() -> CompletableFuture.completedFuture("ok")).join(), "ok");
+    }
+
+    @Test
+    public void test_long_backlog_of_synchronously_failing_calls_does_not_recurse() {
+        InFlightLimiter limiter = new InFlightLimiter(1);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        CompletableFuture<String> first = limiter.submit(() -> blocker);
+
+        List<CompletableFuture<Object>> failing = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            failing.add(limiter.submit(() -> {
+                throw new IllegalStateException("rejected");
+            }));
+        }
+        Assert.assertEquals(limiter.queued(), 50_000);
+
+        // Completing the only running call starts the whole backlog from this thread
+        blocker.complete("done");
+        Assert.assertEquals(first.join(), "done");
+        for (CompletableFuture<Object> result : failing) {
+            Assert.assertTrue(result.isCompletedExceptionally());
+        }
+        Assert.assertEquals(limiter.inFlight(), 0);
+        Assert.assertEquals(limiter.queued(), 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.customer_service_integration_test.client;
+
+import com.example.customer_service_integration_test.metrics.LatencyRecorder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load: requests start on a fixed schedule whether or not earlier ones have finished.
+ *
+ * Request {@code i} is due at {@code start + i / rate}. A single scheduling thread fires every due
+ * request without waiting for responses, catching up in bursts if it falls behind, so a slow server
+ * builds a backlog instead of silently lowering the offered rate. Latency is measured from the
+ * intended start, which already includes any queueing delay, so no coordinated omission correction
+ * is applied on top, even when latency.target.rate is set. Samples go to {@link LatencyRecorder}
+ * under {@code open-model.<name>}.
+ */
+public class OpenModelLoadGenerator {
+
+    private final String name;
+    private final double ratePerSecond;
+    private final Duration duration;
+
+    public OpenModelLoadGenerator(String name, double ratePerSecond, Duration duration) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+    }
+
+    /**
+     * Runs the schedule and waits for outstanding responses
+     * @param request starts request number {@code i} and returns its response
+     * @param drainTimeout how long to wait for responses after the last request was sent
+     * @return what was offered, what completed and the latency distribution
+     */
+    public Result run(LongFunction<CompletableFuture<? extends ResponseEntity<?>>> request, Duration drainTimeout) {
+        String operation = "open-model." + name;
+        Recorder recorder = new Recorder(3);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicLong outstanding = new AtomicLong();
+
+        double intervalNanos = 1_000_000_000.0 / ratePerSecond;
+        long total = (long) (duration.toNanos() / intervalNanos);
+        long maxLagNanos = 0;
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long now = System.nanoTime();
+            if (intended > now) {
+                LockSupport.parkNanos(intended - now);
+            } else {
+                maxLagNanos = Math.max(maxLagNanos, now - intended);
+            }
+            outstanding.incrementAndGet();
+            CompletableFuture<? extends ResponseEntity<?>> response;
+            try {
+                response = request.apply(i);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((entity, error) -> {
+                long end = System.nanoTime();
+                long micros = Math.max((end - intended) / 1_000, 0);
+                recorder.recordValue(micros);
+                LatencyRecorder.recordUncorrected(operation, intended, end);
+                if (error == null && entity.getStatusCode().is2xxSuccessful()) {
+                    succeeded.increment();
+                } else {
+                    failed.increment();
+                }
+                outstanding.decrementAndGet();
+            });
+        }
+        long sendEnd = System.nanoTime();
+
+        long deadline = sendEnd + drainTimeout.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        long end = System.nanoTime();
+        return new Result(total, succeeded.sum(), failed.sum(), outstanding.get(),
+                total / ((sendEnd - start) / 1_000_000_000.0), succeeded.sum() / ((end - start) / 1_000_000_000.0),
+                maxLagNanos / 1_000_000.0, recorder.getIntervalHistogram());
+    }
+
+    /**
+     * @param offeredRate     requests started per second
+     * @param achievedRate    successful responses per second, including the drain
+     * @param maxSchedulerLagMs worst delay of the scheduling thread behind the plan
+     * @param latencyMicros   latency from intended start, in microseconds
+     */
+    public record Result(long scheduled, long succeeded, long failed, long unfinished, double offeredRate,
+                         double achievedRate, double maxSchedulerLagMs, Histogram latencyMicros) {
+
+        public double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.customer_service_integration_test.contract;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Schema compiled once into an immutable validator tree.
+ *
+ * Validation walks the document token by token with a Jackson {@link JsonParser}, so no tree or
+ * bound object is built per response. Instances hold no per-call state and can be shared by any
+ * number of threads.
+ *
+ * Supports the draft-07 keywords the customer contracts use: type, properties, required,
+ * additionalProperties (boolean), items, minLength, maxLength, pattern, minimum and maximum.
+ * Any other validation keyword fails compilation rather than being silently ignored.
+ */
+public final class CompiledSchema {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "title", "description");
+
+    private final Node root;
+
+    private CompiledSchema(Node root) {
+        this.root = root;
+    }
+
+    public static CompiledSchema compile(JsonNode schema) {
+        return new CompiledSchema(compileNode(schema, "#"));
+    }
+
+    /**
+     * Validates a JSON document
+     * @param json the document
+     * @return the violations found, empty if the document conforms
+     */
+    public List<String> validate(byte[] json) {
+        List<String> violations = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() == null) {
+                violations.add("$: empty document");
+                return violations;
+            }
+            root.validate(parser, "$", violations);
+            if (parser.nextToken() != null) {
+                violations.add("$: unexpected content after the document");
+            }
+        } catch (JsonProcessingException e) {
+            violations.add("$: malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return violations;
+    }
+
+    public List<String> validate(String json) {
+        return validate(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private enum Type {
+        OBJECT, ARRAY, STRING, INTEGER, NUMBER, BOOLEAN, NULL;
+
+        static Type of(JsonToken token) {
+            return switch (token) {
+                case START_OBJECT -> OBJECT;
+                case START_ARRAY -> ARRAY;
+                case VALUE_STRING -> STRING;
+                case VALUE_NUMBER_INT -> INTEGER;
+                case VALUE_NUMBER_FLOAT -> NUMBER;
+                case VALUE_TRUE, VALUE_FALSE -> BOOLEAN;
+                case VALUE_NULL -> NULL;
+                default -> throw new IllegalStateException("Unexpected token " + token);
+            };
+        }
+
+        boolean accepts(Type actual) {
+            return this == actual || (this == NUMBER && actual == INTEGER);
+        }
+    }
+
+    private static Node compileNode(JsonNode schema, String location) {
+        if (!schema.isObject()) {
+            throw new IllegalArgumentException(location + ": schema must be an object");
+        }
+        Node node = new Node();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = schema.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String keyword = field.getKey();
+            JsonNode value = field.getValue();
+            switch (keyword) {
+                case "type" -> {
+                    node.types = EnumSet.noneOf(Type.class);
+                    if (value.isArray()) {
+                        value.forEach(type -> node.types.add(Type.valueOf(type.asText().toUpperCase())));
+                    } else {
+                        node.types.add(Type.valueOf(value.asText().toUpperCase()));
+                    }
+                }
+                case "properties" -> value.fields().forEachRemaining(property -> node.properties.put(
+                        property.getKey(), compileNode(property.getValue(), location + "/properties/" + property.getKey())));
+                case "required" -> value.forEach(name -> node.required.add(name.asText()));
+                case "additionalProperties" -> {
+                    if (!value.isBoolean()) {
+                        throw new IllegalArgumentException(location + ": only boolean additionalProperties is supported");
+                    }
+                    node.additionalProperties = value.asBoolean();
+                }
+                case "items" -> node.items = compileNode(value, location + "/items");
+                case "minLength" -> node.minLength = value.asInt();
+                case "maxLength" -> node.maxLength = value.asInt();
+                case "pattern" -> node.pattern = Pattern.compile(value.asText());
+                case "minimum" -> node.minimum = value.decimalValue();
+                case "maximum" -> node.maximum = value.decimalValue();
+                default -> {
+                    if (!ANNOTATIONS.contains(keyword)) {
+                        throw new IllegalArgumentException(location + ": unsupported keyword '" + keyword + "'");
+                    }
+                }
+            }
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private Set<Type> types;
+        private final Map<String, Node> properties = new HashMap<>();
+        private final List<String> required = new ArrayList<>();
+        private boolean additionalProperties = true;
+        private Node items;
+        private int minLength = -1;
+        private int maxLength = -1;
+        private Pattern pattern;
+        private BigDecimal minimum;
+        private BigDecimal maximum;
+
+        /**
+         * Validates the value at the parser's current token and leaves the parser on its last token
+         */
+        void validate(JsonParser parser, String path, List<String> violations) throws IOException {
+            Type actual = Type.of(parser.currentToken());
+            if (types != null && types.stream().noneMatch(type -> type.accepts(actual))) {
+                violations.add(path + ": expected " + types + " but found " + actual);
+                parser.skipChildren();
+                return;
+            }
+            switch (actual) {
+                case OBJECT -> validateObject(parser, path, violations);
+                case ARRAY -> validateArray(parser, path, violations);
+                case STRING -> validateString(parser.getText(), path, violations);
+                case INTEGER, NUMBER -> validateNumber(parser.getDecimalValue(), path, violations);
+                default -> {
+                }
+            }
+        }
+
+        private void validateObject(JsonParser parser, String path, List<String> violations) throws IOException {
+            boolean[] seen = new boolean[required.size()];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                int requiredIndex = required.indexOf(name);
+                if (requiredIndex >= 0) {
+                    seen[requiredIndex] = true;
+                }
+                Node property = properties.get(name);
+                if (property != null) {
+                    property.validate(parser, path + "." + name, violations);
+                } else {
+                    if (!additionalProperties) {
+                        violations.add(path + ": unexpected property '" + name + "'");
+                    }
+                    parser.skipChildren();
+                }
+            }
+            for (int i = 0; i < seen.length; i++) {
+                if (!seen[i]) {
+                    violations.add(path + ": missing required property '" + required.get(i) + "'");
+                }
+            }
+        }
+
+        private void validateArray(JsonParser parser, String path, List<String> violations) throws IOException {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (items != null) {
+                    items.validate(parser, path + "[" + index + "]", violations);
+                } else {
+                    parser.skipChildren();
+                }
+                index++;
+            }
+        }
+
+        private void validateString(String value, String path, List<String> violations) {
+            int length = value.codePointCount(0, value.length());
+            if (minLength >= 0 && length < minLength) {
+                violations.add(path + ": length " + length + " is below minLength " + minLength);
+            }
+            if (maxLength >= 0 && length > maxLength) {
+                violations.add(path + ": length " + length + " exceeds maxLength " + maxLength);
+            }
+            if (pattern != null && !pattern.matcher(value).find()) {
+                violations.add(path + ": '" + value + "' does not match pattern " + pattern.pattern());
+            }
+        }
+
+        private void validateNumber(BigDecimal value, String path, List<String> violations) {
+            if (minimum != null && value.compareTo(minimum) < 0) {
+                violations.add(path + ": " + value + " is below minimum " + minimum);
+            }
+            if (maximum != null && value.compareTo(maximum) > 0) {
+                violations.add(path + ": " + value + " exceeds maximum " + maximum);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customer_service_integration_test.contract;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CompiledSchemaTest {
+
+    private static final String VALID_CUSTOMER =
+            "{\"customerId\":42,\"name\":\"Anna\",\"address\":null,\"email\":\"anna@test.com\",\"status\":true,\"version\":3}";
+
+    @Test
+    public void test_valid_customer_passes() {
+        Assert.assertEquals(CustomerContractValidator.CUSTOMER_DATA.validate(VALID_CUSTOMER), List.of());
+    }
+
+    @Test
+    public void test_violations_are_reported_with_paths() {
+        List<String> violations = CustomerContractValidator.CUSTOMER_DATA.validate(
+                "{\"customerId\":0,\"name\":\"\",\"email\":\"anna.test.com\",\"status\":\"yes\",\"extra\":{\"a\":[1]}}");
+
+        Assert.assertTrue(violations.contains("$.customerId: 0 is below minimum 1"), violations.toString());
+        Assert.assertTrue(violations.contains("$.name: length 0 is below minLength 1"), violations.toString());
+        Assert.assertTrue(violations.contains("$.status: expected [BOOLEAN] but found STRING"), violations.toString());
+        Assert.assertTrue(violations.contains("$: unexpected property 'extra'"), violations.toString());
+        Assert.assertTrue(violations.stream().anyMatch(v -> v.startsWith("$.email:")), violations.toString());
+        Assert.assertEquals(violations.size(), 5, violations.toString());
+    }
+
+    @Test
+    public void test_missing_required_and_malformed_documents() {
+        Assert.assertEquals(CustomerContractValidator.CUSTOMER_DATA.validate("{\"customerId\":1,\"name\":\"A\",\"status\":true}"),
+                List.of("$: missing required property 'email'"));
+        Assert.assertTrue(CustomerContractValidator.CUSTOMER_DATA.validate("{\"customerId\":1,").get(0)
+                .startsWith("$: malformed JSON"));
+        Assert.assertEquals(CustomerContractValidator.ERROR_RESPONSE.validate(
+                "{\"status\":409,\"error\":\"Conflict\",\"message\":null,\"path\":\"/api/customer\",\"details\":[]}"), List.of());
+        Assert.assertEquals(CustomerContractValidator.ERROR_RESPONSE.validate(
+                        "{\"status\":409,\"error\":\"Conflict\",\"path\":\"/api/customer\",\"details\":[1]}"),
+                List.of("$.details[0]: expected [STRING] but found INTEGER"));
+    }
+
+    @Test
+    public void test_shared_schema_is_safe_across_threads() throws Exception {
+        String invalid = VALID_CUSTOMER.replace("\"status\":true", "\"status\":null");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                boolean expectValid = i % 2 == 0;
+                String body = expectValid ? VALID_CUSTOMER : invalid;
+                results.add(executor.submit(() ->
+                        CustomerContractValidator.CUSTOMER_DATA.validate(body).isEmpty() == expectValid));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(), "Concurrent validation should give the same answer as sequential");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.customer_service_integration_test.contract;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Contract checks for customer API responses.
+ *
+ * The CustomerData and error-response schemas are read from {@code schemas/} on the classpath and
+ * compiled once when the class loads; every check after that is a single streaming pass over the
+ * body. The schema files stay plain draft-07, so they also work with RestAssured's
+ * {@code matchesJsonSchemaInClasspath} for one-off checks.
+ */
+public final class CustomerContractValidator {
+
+    public static final CompiledSchema CUSTOMER_DATA = load("schemas/customer-data.json");
+    public static final CompiledSchema ERROR_RESPONSE = load("schemas/error-response.json");
+
+    private CustomerContractValidator() {
+    }
+
+    /**
+     * Matches a response body holding a single customer
+     */
+    public static Matcher<String> matchesCustomerContract() {
+        return new ContractMatcher(CUSTOMER_DATA, "a CustomerData document");
+    }
+
+    /**
+     * Matches a response body holding an API error
+     */
+    public static Matcher<String> matchesErrorContract() {
+        return new ContractMatcher(ERROR_RESPONSE, "an error response document");
+    }
+
+    private static CompiledSchema load(String resource) {
+        try (InputStream input = CustomerContractValidator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Schema not found on classpath: " + resource);
+            }
+            return CompiledSchema.compile(new ObjectMapper().readTree(input));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read schema " + resource, e);
+        }
+    }
+
+    private static final class ContractMatcher extends TypeSafeMatcher<String> {
+
+        private final CompiledSchema schema;
+        private final String description;
+
+        ContractMatcher(CompiledSchema schema, String description) {
+            this.schema = schema;
+            this.description = description;
+        }
+
+        @Override
+        protected boolean matchesSafely(String body) {
+            return schema.validate(body).isEmpty();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText(this.description);
+        }
+
+        @Override
+        protected void describeMismatchSafely(String body, Description mismatch) {
+            List<String> violations = schema.validate(body);
+            mismatch.appendText("violated the contract: ").appendValueList("", "; ", "", violations);
+        }
+    }
+}
@@ -8,6 +8,11 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.customer_service_integration_test.contract.CustomerContractValidator.matchesCustomerContract;
+import static com.example.customer_service_integration_test.contract.CustomerContractValidator.matchesErrorContract;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -18,7 +23,7 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         setupRestAssured();
     }
 
-    @DataProvider(name = "invalid_customer_data")
+    @DataProvider(name = "invalid_customer_data", parallel = true)
     public Object[][] invalidCustomerData() {
         return new Object[][]{
                 // Invalid email format (missing @)
@@ -28,9 +33,9 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
                 // Invalid email format (multiple @)
                 {"testName", "Stockholm", "test@@gmail.com", true},
                 // Empty name (should be required)
-                {"", "Stockholm", "test@gmail.com", true},
+                {"", "Stockholm", uniqueEmail("test@gmail.com"), true},
                 // Null name (should be required)
-                {null, "Stockholm", "test@gmail.com", true},
+                {null, "Stockholm", uniqueEmail("test@gmail.com"), true},
                 // Empty email (should be required)
                 {"testName", "Stockholm", "", true},
                 // Null email (should be required)
@@ -38,7 +43,7 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         };
     }
 
-    @DataProvider(name = "invalid_customer_data_json")
+    @DataProvider(name = "invalid_customer_data_json", parallel = true)
     public Object[][] invalidCustomerDataJson() {
         return new Object[][]{
                 // Invalid JSON structure - missing required fields
@@ -69,7 +74,8 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         // Verify the response status using RestAssured assertions
         response.then()
                 .statusCode(400)
-                .contentType("application/json");
+                .contentType("application/json")
+                .body(matchesErrorContract());
 
         System.out.println("✅ Correctly received 400 Bad Request for invalid data: " + email);
         System.out.println("Response body: " + response.getBody().asString());
@@ -95,7 +101,8 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         // Verify the response status
         response.then()
                 .statusCode(anyOf(equalTo(400), equalTo(422))) // Could be 400 or 422 depending on validation
-                .contentType("application/json");
+                .contentType("application/json")
+                .body(matchesErrorContract());
 
         System.out.println("✅ Correctly received error status for invalid JSON: " + description);
         System.out.println("Response body: " + response.getBody().asString());
@@ -103,18 +110,21 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
 
     @Test(description = "Test creating customer with duplicate email")
     public void test_duplicate_email_with_restassured() {
+        String duplicateEmail = uniqueEmail("duplicate@test.com");
+
         // First, create a valid customer
         CustomerData firstCustomer = CustomerData.builder()
                 .name("First Customer")
                 .address("Stockholm")
-                .email("duplicate@test.com")
+                .email(duplicateEmail)
                 .status(true)
                 .build();
 
         Response firstResponse = createCustomerWithRestAssured(firstCustomer);
         firstResponse.then()
                 .statusCode(200)
-                .contentType("application/json");
+                .contentType("application/json")
+                .body(matchesCustomerContract());
 
         System.out.println("✅ First customer created successfully");
 
@@ -122,14 +132,15 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         CustomerData duplicateCustomer = CustomerData.builder()
                 .name("Second Customer")
                 .address("Gothenburg")
-                .email("duplicate@test.com") // Same email
+                .email(duplicateEmail) // Same email
                 .status(true)
                 .build();
 
         Response duplicateResponse = createCustomerWithRestAssured(duplicateCustomer);
         duplicateResponse.then()
                 .statusCode(anyOf(equalTo(400), equalTo(409))) // Could be 400 or 409 depending on implementation
-                .contentType("application/json");
+                .contentType("application/json")
+                .body(matchesErrorContract());
 
         System.out.println("✅ Correctly received error for duplicate email");
         System.out.println("Response body: " + duplicateResponse.getBody().asString());
@@ -139,11 +150,12 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
     public void test_extremely_long_name_with_restassured() {
         // Create a name that's extremely long (more than typical database field limits)
         String longName = "A".repeat(1000); // 1000 character name
+        String email = uniqueEmail("longname@test.com");
 
         CustomerData customerData = CustomerData.builder()
                 .name(longName)
                 .address("Stockholm")
-                .email("longname@test.com")
+                .email(email)
                 .status(true)
                 .build();
 
@@ -156,13 +168,13 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         System.out.println("Response body: " + response.getBody().asString());
 
         // Verify that no customer was saved to database
-        verifyCustomerNotSavedInDatabase("longname@test.com");
+        verifyCustomerNotSavedInDatabase(email);
     }
 
     @Test(description = "Test creating customer with extremely long email")
     public void test_extremely_long_email_with_restassured() {
         // Create an email that's extremely long
-        String longEmail = "a".repeat(250) + "@test.com"; // Very long email
+        String longEmail = uniqueEmail("a".repeat(250) + "@test.com"); // Very long email
 
         CustomerData customerData = CustomerData.builder()
                 .name("Test Customer")
@@ -185,10 +197,12 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
 
     @Test(description = "Test creating customer with special characters in name")
     public void test_special_characters_in_name_with_restassured() {
+        String email = uniqueEmail("specialchars@test.com");
+
         CustomerData customerData = CustomerData.builder()
                 .name("Test@#$%^&*()Customer")
                 .address("Stockholm")
-                .email("specialchars@test.com")
+                .email(email)
                 .status(true)
                 .build();
 
@@ -206,16 +220,18 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         } else {
             System.out.println("✅ Special characters in name are rejected with status: " + statusCode);
             System.out.println("Response body: " + response.getBody().asString());
-            verifyCustomerNotSavedInDatabase("specialchars@test.com");
+            verifyCustomerNotSavedInDatabase(email);
         }
     }
 
     @Test(description = "Test creating customer with SQL injection attempt in name")
     public void test_sql_injection_in_name_with_restassured() {
+        String email = uniqueEmail("sqlinjection@test.com");
+
         CustomerData customerData = CustomerData.builder()
                 .name("'; DROP TABLE customers; --")
                 .address("Stockholm")
-                .email("sqlinjection@test.com")
+                .email(email)
                 .status(true)
                 .build();
 
@@ -230,15 +246,17 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         System.out.println("Response body: " + response.getBody().asString());
 
         // Verify that no customer was saved to database
-        verifyCustomerNotSavedInDatabase("sqlinjection@test.com");
+        verifyCustomerNotSavedInDatabase(email);
     }
 
     @Test(description = "Test creating customer with XSS attempt in name")
     public void test_xss_in_name_with_restassured() {
+        String email = uniqueEmail("xss@test.com");
+
         CustomerData customerData = CustomerData.builder()
                 .name("<script>alert('XSS')</script>")
                 .address("Stockholm")
-                .email("xss@test.com")
+                .email(email)
                 .status(true)
                 .build();
 
@@ -257,14 +275,15 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         } else {
             System.out.println("✅ XSS attempt correctly rejected with status: " + statusCode);
             System.out.println("Response body: " + response.getBody().asString());
-            verifyCustomerNotSavedInDatabase("xss@test.com");
+            verifyCustomerNotSavedInDatabase(email);
         }
     }
 
     @Test(description = "Test creating customer with null status")
     public void test_null_status_with_restassured() {
         // Create JSON with null status
-        String jsonWithNullStatus = "{\"name\":\"Test Customer\",\"address\":\"Stockholm\",\"email\":\"nullstatus@test.com\",\"status\":null}";
+        String email = uniqueEmail("nullstatus@test.com");
+        String jsonWithNullStatus = "{\"name\":\"Test Customer\",\"address\":\"Stockholm\",\"email\":\"" + email + "\",\"status\":null}";
 
         Response response = given()
                 .contentType("application/json")
@@ -281,12 +300,13 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         if (statusCode == 200) {
             System.out.println("✅ Null status handled (might default to false)");
             CustomerData savedCustomer = response.as(CustomerData.class);
+            trackCreatedCustomer(savedCustomer.getCustomerId());
             // Verify status was handled (either defaulted or kept as null)
             System.out.println("Saved customer status: " + savedCustomer.isStatus());
         } else {
             System.out.println("✅ Null status correctly rejected with status: " + statusCode);
             System.out.println("Response body: " + response.getBody().asString());
-            verifyCustomerNotSavedInDatabase("nullstatus@test.com");
+            verifyCustomerNotSavedInDatabase(email);
         }
     }
 
@@ -295,7 +315,7 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         CustomerData customerData = CustomerData.builder()
                 .name("Test Customer")
                 .address("Stockholm")
-                .email("invalidmethod@test.com")
+                .email(uniqueEmail("invalidmethod@test.com"))
                 .status(true)
                 .build();
 
@@ -323,7 +343,7 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         CustomerData customerData = CustomerData.builder()
                 .name("Test Customer")
                 .address("Stockholm")
-                .email("wrongcontenttype@test.com")
+                .email(uniqueEmail("wrongcontenttype@test.com"))
                 .status(true)
                 .build();
 
@@ -345,4 +365,86 @@ public class CustomerDataServiceNegativeFlowRATest extends RestAssuredBaseTest {
         System.out.println("✅ Wrong content type correctly rejected");
         System.out.println("Response body: " + response.getBody().asString());
     }
+
+    @Test(description = "Test batch create reports a status per item and persists only the valid items")
+    public void test_batch_create_with_invalid_and_duplicate_items_with_restassured() {
+        String existingEmail = uniqueEmail("batch-existing@test.com");
+        createCustomerWithRestAssured(CustomerData.builder()
+                .name("Existing Customer")
+                .address("Stockholm")
+                .email(existingEmail)
+                .status(true)
+                .build())
+                .then()
+                .statusCode(200);
+
+        String validEmail = uniqueEmail("batch-valid@test.com");
+        String invalidEmail = "batch-invalid-test.com";
+        List<CustomerData> batch = List.of(
+                CustomerData.builder().name("Valid Customer").address("Stockholm").email(validEmail).status(true).build(),
+                // Invalid email format, rejected like the single-item endpoint would
+                CustomerData.builder().name("Invalid Customer").address("Stockholm").email(invalidEmail).status(true).build(),
+                // Same email as the first item, differing only in case
+                CustomerData.builder().name("Duplicate In Batch").address("Oslo").email(validEmail.toUpperCase()).status(true).build(),
+                // Email that is already stored
+                CustomerData.builder().name("Already Exists").address("Oslo").email(existingEmail).status(false).build());
+
+        Response response = createCustomersBatchWithRestAssured(batch);
+
+        response.then()
+                .statusCode(200)
+                .contentType("application/json")
+                .body("succeeded", equalTo(1))
+                .body("failed", equalTo(3))
+                .body("results.index", contains(0, 1, 2, 3))
+                .body("results.status", contains(200, 400, 409, 409))
+                .body("results[0].customer.email", equalTo(validEmail))
+                .body("results[1].errors", not(empty()))
+                .body("results[2].errors", not(empty()))
+                .body("results[3].errors", not(empty()))
+                .body("results[1].customer", nullValue())
+                .body("results[2].customer", nullValue())
+                .body("results[3].customer", nullValue());
+
+        System.out.println("✅ Batch create reported per-item statuses");
+        System.out.println("Response body: " + response.getBody().asString());
+
+        // Only the valid item is stored, the failed ones left nothing behind
+        Long createdId = response.jsonPath().getLong("results[0].customer.customerId");
+        verifyCustomerDataSavedInDatabase(createdId, batch.get(0));
+        verifyCustomerNotSavedInDatabase(invalidEmail);
+        Assert.assertEquals(customerRepository.findByEmail(existingEmail).orElseThrow().getName(), "Existing Customer",
+                "The stored customer must not be overwritten by the batch");
+        Assert.assertEquals(customerRepository.findAllByEmailIn(List.of(validEmail)).size(), 1,
+                "Only the first item of a duplicated email should be stored");
+    }
+
+    @Test(description = "Test batch get skips unknown ids and keeps the request order")
+    public void test_batch_get_with_unknown_ids_with_restassured() {
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Response created = createCustomerWithRestAssured(CustomerData.builder()
+                    .name("Batch Get Customer " + i)
+                    .address("Stockholm")
+                    .email(uniqueEmail("batch-get" + i + "@test.com"))
+                    .status(true)
+                    .build());
+            created.then().statusCode(200);
+            createdIds.add(created.jsonPath().getLong("customerId"));
+        }
+
+        long unknownId = Long.MAX_VALUE;
+        Response response = getCustomersByIdsWithRestAssured(
+                List.of(createdIds.get(1), unknownId, createdIds.get(0), createdIds.get(1)));
+
+        response.then()
+                .statusCode(200)
+                .contentType("application/json")
+                .body("$", hasSize(2));
+        List<Long> returnedIds = response.jsonPath().getList("customerId", Long.class);
+        Assert.assertEquals(returnedIds, List.of(createdIds.get(1), createdIds.get(0)),
+                "Unknown ids should be skipped and duplicates returned once, in request order");
+
+        System.out.println("✅ Batch get skipped unknown id " + unknownId);
+    }
 }
@@ -16,7 +16,7 @@ public class CustomerDataServiceNegativeFlowTest extends BaseTest {
         setup();
     }
 
-    @DataProvider(name = "invalid_customer_data")
+    @DataProvider(name = "invalid_customer_data", parallel = true)
     public Object[][] invalidCustomerData() {
         return new Object[][]{
                 // Invalid email format (missing @)
@@ -26,9 +26,9 @@ public class CustomerDataServiceNegativeFlowTest extends BaseTest {
                 // Invalid email format (multiple @)
                 {"testName", "Stockholm", "test@@gmail.com", true},
                 // Empty name (should be required)
-                {"", "Stockholm", "test@gmail.com", true},
+                {"", "Stockholm", uniqueEmail("test@gmail.com"), true},
                 // Null name (should be required)
-                {null, "Stockholm", "test@gmail.com", true},
+                {null, "Stockholm", uniqueEmail("test@gmail.com"), true},
                 // Empty email (should be required)
                 {"testName", "Stockholm", "", true},
                 // Null email (should be required)
@@ -2,6 +2,7 @@ package com.example.customer_service_integration_test.customer;
 
 import com.example.customer_service_integration_test.BaseTest;
 import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.model.CustomerSlice;
 import net.datafaker.Faker;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,12 +21,12 @@ public class CustomerDataServiceSuccessFlowTest extends BaseTest {
         faker = new Faker();
     }
 
-    @DataProvider(name = "customer_data")
+    @DataProvider(name = "customer_data", parallel = true)
     public Object[][] customerData() {
         return new Object[][]{
-                {faker.name().firstName(), faker.address().city(), faker.internet().emailAddress(), true},
-                {faker.name().firstName(), faker.address().city(), faker.internet().emailAddress(), true},
-                {faker.name().firstName(), faker.address().city(), faker.internet().emailAddress(), true},
+                {faker.name().firstName(), faker.address().city(), uniqueEmail(faker.internet().emailAddress()), true},
+                {faker.name().firstName(), faker.address().city(), uniqueEmail(faker.internet().emailAddress()), true},
+                {faker.name().firstName(), faker.address().city(), uniqueEmail(faker.internet().emailAddress()), true},
         };
     }
 
@@ -116,4 +117,60 @@ public class CustomerDataServiceSuccessFlowTest extends BaseTest {
         //Verify again after update the Name
         verifyCustomerDataSavedInDatabase(customerId, savedCustomerData);
     }
+
+    @Test(description = "Conditional GET returns 304 while the customer is unchanged and 200 after an update")
+    public void test_conditional_get_customer() {
+        CustomerData customerData = CustomerData.builder()
+                .name(faker.name().firstName())
+                .address(faker.address().city())
+                .email(uniqueEmail(faker.internet().emailAddress()))
+                .status(true)
+                .build();
+
+        ResponseEntity<CustomerData> created = createCustomer(customerData);
+        Assert.assertEquals(created.getStatusCode(), HttpStatus.OK, "API should return 200 OK");
+        CustomerData savedCustomerData = created.getBody();
+        Assert.assertNotNull(savedCustomerData, "Response body should not be null");
+
+        ResponseEntity<CustomerData> firstGet = getCustomer(savedCustomerData);
+        String etag = firstGet.getHeaders().getETag();
+        Assert.assertNotNull(etag, "GET should return an ETag");
+
+        ResponseEntity<CustomerData> notModified = getCustomerIfNoneMatch(savedCustomerData.getCustomerId(), etag);
+        Assert.assertEquals(notModified.getStatusCode(), HttpStatus.NOT_MODIFIED, "Unchanged customer should return 304");
+        Assert.assertNull(notModified.getBody(), "304 response should not have a body");
+
+        savedCustomerData.setName(savedCustomerData.getName() + " Updated");
+        updateCustomer(savedCustomerData);
+
+        ResponseEntity<CustomerData> modified = getCustomerIfNoneMatch(savedCustomerData.getCustomerId(), etag);
+        Assert.assertEquals(modified.getStatusCode(), HttpStatus.OK, "Updated customer should return 200");
+        Assert.assertNotEquals(modified.getHeaders().getETag(), etag, "ETag should change after an update");
+        Assert.assertEquals(modified.getBody().getName(), savedCustomerData.getName(), "Customer name should match");
+    }
+
+    @Test(description = "Customer listing returns a slice with has-next and a cached total count")
+    public void test_list_customers() {
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<CustomerData> created = createCustomer(CustomerData.builder()
+                    .name(faker.name().firstName())
+                    .address(faker.address().city())
+                    .email(uniqueEmail(faker.internet().emailAddress()))
+                    .status(true)
+                    .build());
+            Assert.assertEquals(created.getStatusCode(), HttpStatus.OK, "API should return 200 OK");
+        }
+
+        ResponseEntity<CustomerSlice> response = listCustomers(0, 1);
+        Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "API should return 200 OK");
+        CustomerSlice slice = response.getBody();
+        Assert.assertNotNull(slice, "Response body should not be null");
+        Assert.assertEquals(slice.getContent().size(), 1, "Slice should hold one customer");
+        Assert.assertTrue(slice.isHasNext(), "A second customer exists, so there should be a next page");
+        Assert.assertTrue(slice.getTotalCount() > 0, "Total count should be reported");
+        Assert.assertNotNull(slice.getTotalCountAsOf(), "Total count should say when it was reconciled");
+
+        ResponseEntity<CustomerSlice> invalid = listCustomers(0, 0);
+        Assert.assertEquals(invalid.getStatusCode(), HttpStatus.BAD_REQUEST, "Page size 0 should be rejected");
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.customer_service_integration_test.customer;
+
+import com.example.customer_service_integration_test.RestAssuredBaseTest;
+import com.example.customer_service_integration_test.model.CustomerData;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Response compression on the multi-customer endpoints and conditional GETs with ETags
+ */
+public class CustomerResponseEncodingRATest extends RestAssuredBaseTest {
+
+    @BeforeClass
+    public void setUp() {
+        setupRestAssured();
+    }
+
+    @Test(description = "Test batch GET is gzip encoded on request and decodes to the uncompressed body")
+    public void test_batch_get_gzip_encoding_with_restassured() throws IOException {
+        List<CustomerData> customers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            customers.add(CustomerData.builder()
+                    .name("Compressed Customer " + i)
+                    .address("Stockholm")
+                    .email(uniqueEmail("gzip" + i + "@test.com"))
+                    .status(true)
+                    .build());
+        }
+        Response created = createCustomersBatchWithRestAssured(customers);
+        created.then().statusCode(200).body("succeeded", equalTo(customers.size()));
+        String ids = created.jsonPath().getList("results.customer.customerId", Long.class).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // Decoding is switched off so the raw bytes and headers are what the server sent
+        Response compressed = given()
+                .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "gzip")
+                .queryParam("ids", ids)
+                .when()
+                .get(customerServiceEndPoint + "/batch")
+                .then()
+                .extract()
+                .response();
+        Response identity = given()
+                .header("Accept-Encoding", "identity")
+                .queryParam("ids", ids)
+                .when()
+                .get(customerServiceEndPoint + "/batch")
+                .then()
+                .extract()
+                .response();
+
+        compressed.then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"))
+                .header("Vary", containsString("Accept-Encoding"));
+        identity.then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue());
+
+        byte[] raw = compressed.asByteArray();
+        byte[] decoded;
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+            decoded = input.readAllBytes();
+        }
+        Assert.assertEquals(decoded, identity.asByteArray(), "Decoded gzip body should equal the uncompressed body");
+        Assert.assertTrue(raw.length < decoded.length, "Compressed body should be smaller than the uncompressed one");
+
+        System.out.println("✅ Batch GET gzip encoded: " + decoded.length + " -> " + raw.length + " bytes");
+    }
+
+    @Test(description = "Test conditional GET returns 304 for a current ETag and 200 for a stale one")
+    public void test_if_none_match_with_restassured() {
+        CustomerData customerData = CustomerData.builder()
+                .name("Conditional Customer")
+                .address("Stockholm")
+                .email(uniqueEmail("conditional@test.com"))
+                .status(true)
+                .build();
+        Response created = createCustomerWithRestAssured(customerData);
+        created.then().statusCode(200);
+        Long customerId = created.jsonPath().getLong("customerId");
+
+        Response first = getCustomerWithRestAssured(customerId);
+        first.then().statusCode(200);
+        String etag = first.getHeader("ETag");
+        Assert.assertNotNull(etag, "GET should return an ETag");
+
+        Response notModified = getCustomerIfNoneMatchWithRestAssured(customerId, etag);
+        notModified.then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+        Assert.assertEquals(notModified.asByteArray().length, 0, "304 response should not have a body");
+
+        Response modified = getCustomerIfNoneMatchWithRestAssured(customerId, "\"stale\"");
+        modified.then()
+                .statusCode(200)
+                .header("ETag", equalTo(etag));
+        Assert.assertEquals(modified.jsonPath().getLong("customerId"), customerId.longValue());
+
+        System.out.println("✅ Conditional GET returned 304 for ETag " + etag);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.customer_service_integration_test.email;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Backfill of email_normalized and email_hash against a local in-memory H2 customers table.
+ */
+public class EmailHashMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeMethod
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:email-migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE customers (customer_id BIGINT NOT NULL PRIMARY KEY, "
+                + "name VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL, "
+                + "email_normalized VARCHAR(100) UNIQUE, email_hash BIGINT)");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    public void test_backfills_unmigrated_rows_and_skips_normalized_collisions() {
+        insert(1, "Alice@Example.com ");
+        insert(2, "bob@example.com");
+        // Same normalized email as customer 1, and a collision inside one batch (4 and 5)
+        insert(3, " alice@example.com");
+        insert(4, "Dave@example.com");
+        insert(5, "dave@EXAMPLE.com");
+        insert(6, "erin@example.com");
+        jdbcTemplate.update("INSERT INTO customers (customer_id, name, email, email_normalized, email_hash) "
+                + "VALUES (7, 'Migrated', 'carol@example.com', 'carol@example.com', ?)", NormalizedEmail.hash("carol@example.com"));
+
+        long migrated = new EmailHashMigration(jdbcTemplate, true, 2).migrate();
+
+        Assert.assertEquals(migrated, 4, "Customers 1, 2, 4 and 6 should be backfilled");
+        assertMigrated(1, "alice@example.com");
+        assertMigrated(2, "bob@example.com");
+        assertMigrated(4, "dave@example.com");
+        assertMigrated(6, "erin@example.com");
+        assertMigrated(7, "carol@example.com");
+        assertUnmigrated(3);
+        assertUnmigrated(5);
+
+        // Conflicts stay for manual merging and are not counted on later runs
+        Assert.assertEquals(new EmailHashMigration(jdbcTemplate, true, 2).migrate(), 0);
+    }
+
+    @Test
+    public void test_batch_size_larger_than_table_migrates_everything_once() {
+        for (int i = 1; i <= 10; i++) {
+            insert(i, "User" + i + "@Example.com");
+        }
+        EmailHashMigration migration = new EmailHashMigration(jdbcTemplate, true, 1000);
+        Assert.assertEquals(migration.migrate(), 10);
+        Assert.assertEquals(migration.migrate(), 0);
+        Assert.assertEquals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customers WHERE email_hash IS NULL", Long.class), 0L);
+    }
+
+    private void insert(long customerId, String email) {
+        jdbcTemplate.update("INSERT INTO customers (customer_id, name, email) VALUES (?, 'Customer', ?)",
+                customerId, email);
+    }
+
+    private void assertMigrated(long customerId, String normalized) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT email_normalized, email_hash FROM customers WHERE customer_id = ?", customerId);
+        Assert.assertEquals(row.get("EMAIL_NORMALIZED"), normalized);
+        Assert.assertEquals(((Number) row.get("EMAIL_HASH")).longValue(), NormalizedEmail.hash(normalized));
+    }
+
+    private void assertUnmigrated(long customerId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT email_normalized, email_hash FROM customers WHERE customer_id = ?", customerId);
+        Assert.assertNull(row.get("EMAIL_NORMALIZED"), "Customer " + customerId + " should be left for manual merge");
+        Assert.assertNull(row.get("EMAIL_HASH"));
+    }
+}
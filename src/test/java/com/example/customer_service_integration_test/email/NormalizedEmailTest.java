@@ -0,0 +1,28 @@
+package com.example.customer_service_integration_test.email;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class NormalizedEmailTest {
+
+    @Test
+    public void test_xxhash64_matches_reference_vectors() {
+        Assert.assertEquals(XxHash64.hash(new byte[0], 0), 0xEF46DB3751D8E999L);
+        Assert.assertEquals(XxHash64.hash("a".getBytes(StandardCharsets.UTF_8), 0), 0xD24EC4F1A98C6E5BL);
+        Assert.assertEquals(XxHash64.hash("abc".getBytes(StandardCharsets.UTF_8), 0), 0x44BC2CF5AD770999L);
+        // Longer than 32 bytes, so the four-lane loop runs
+        Assert.assertEquals(XxHash64.hash("Nobody inspects the spammish repetition".getBytes(StandardCharsets.UTF_8), 0),
+                0xFBCEA83C8A378BF1L);
+    }
+
+    @Test
+    public void test_case_and_whitespace_variants_normalize_to_one_hash() {
+        String normalized = NormalizedEmail.normalize("  Anna.Berg@Example.COM\t");
+        Assert.assertEquals(normalized, "anna.berg@example.com");
+        Assert.assertEquals(NormalizedEmail.hash(normalized), NormalizedEmail.hash(NormalizedEmail.normalize("anna.berg@example.com")));
+        Assert.assertNotEquals(NormalizedEmail.hash(normalized), NormalizedEmail.hash("anna.berg@example.org"));
+        Assert.assertNull(NormalizedEmail.normalize(null));
+    }
+}
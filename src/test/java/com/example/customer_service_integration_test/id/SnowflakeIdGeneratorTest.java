@@ -0,0 +1,43 @@
+package com.example.customer_service_integration_test.id;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SnowflakeIdGeneratorTest {
+
+    @Test
+    public void test_ids_are_unique_and_increasing_within_one_millisecond() {
+        long now = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        AtomicLong clock = new AtomicLong(now);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock::get);
+
+        // A frozen clock allows exactly one millisecond's worth of sequence numbers
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 4096; i++) {
+            long id = generator.nextId();
+            Assert.assertTrue(id > previous, "Ids should be strictly increasing");
+            Assert.assertTrue(ids.add(id), "Ids should be unique");
+            previous = id;
+        }
+        Assert.assertEquals(SnowflakeIdGenerator.timestampOf(previous).toEpochMilli(), now);
+    }
+
+    @Test
+    public void test_node_id_is_encoded_and_validated() {
+        long id = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID).nextId();
+        Assert.assertEquals((id >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID, SnowflakeIdGenerator.MAX_NODE_ID);
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    public void test_ids_stay_above_identity_range() {
+        long id = new SnowflakeIdGenerator(0).nextId();
+        Assert.assertTrue(id > Integer.MAX_VALUE, "Snowflake ids should not overlap AUTO_INCREMENT values already in use");
+    }
+}
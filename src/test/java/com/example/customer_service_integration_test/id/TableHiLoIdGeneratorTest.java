@@ -0,0 +1,98 @@
+package com.example.customer_service_integration_test.id;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Block allocation of the hi/lo generator against a local in-memory H2 database.
+ */
+public class TableHiLoIdGeneratorTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeMethod
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:hilo-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    public void test_ids_are_consecutive_and_unique_across_block_boundaries() {
+        TableHiLoIdGenerator generator = generator(10);
+        for (long expected = 1; expected <= 95; expected++) {
+            Assert.assertEquals(generator.nextId(), expected);
+        }
+        // Ten blocks reserved, the last one partly used
+        Assert.assertEquals(jdbcTemplate.queryForObject("SELECT next_val FROM customer_id_block", Long.class), 101L);
+    }
+
+    @Test
+    public void test_first_block_continues_after_existing_customers() {
+        jdbcTemplate.execute("CREATE TABLE customers (customer_id BIGINT NOT NULL PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO customers (customer_id) VALUES (7), (41)");
+        Assert.assertEquals(generator(5).nextId(), 42L);
+    }
+
+    @Test
+    public void test_concurrent_allocators_never_hand_out_the_same_id() throws Exception {
+        int allocators = 4;
+        int idsPerAllocator = 2_000;
+        List<TableHiLoIdGenerator> generators = new ArrayList<>();
+        for (int i = 0; i < allocators; i++) {
+            // One generator per simulated node, all sharing the block row
+            generators.add(generator(7));
+        }
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(allocators * 2);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < allocators * 2; thread++) {
+                TableHiLoIdGenerator generator = generators.get(thread % allocators);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerAllocator / 2; i++) {
+                        long id = generator.nextId();
+                        Assert.assertTrue(ids.add(id), "Id " + id + " was handed out twice");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(ids.size(), allocators * idsPerAllocator);
+    }
+
+    private TableHiLoIdGenerator generator(int blockSize) {
+        TableHiLoIdGenerator generator = new TableHiLoIdGenerator(jdbcTemplate, blockSize);
+        generator.initializeSchema();
+        return generator;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.customer_service_integration_test.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Client-side latency capture for the request helpers, one HdrHistogram {@link Recorder} per operation.
+ *
+ * Recording is wait-free, so it is safe to leave on in functional runs and under parallel="methods".
+ * Values are stored in microseconds. When latency.target.rate (requests per second) is set, samples
+ * are recorded with the corresponding expected interval so that stalls longer than the interval
+ * are back-filled, correcting for coordinated omission.
+ */
+public final class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final Map<String, Recorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private static final long EXPECTED_INTERVAL_MICROS = expectedIntervalMicros();
+
+    private LatencyRecorder() {
+    }
+
+    /**
+     * Runs the call and records how long it took under the given operation name
+     * @param operation the operation name, e.g. rest-template.create
+     * @param call      the request to time
+     * @return the call's result
+     */
+    public static <T> T time(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(operation, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records one sample measured elsewhere
+     * @param operation  the operation name
+     * @param startNanos System.nanoTime() when the request was (or should have been) sent
+     * @param endNanos   System.nanoTime() when the response was received
+     */
+    public static void record(String operation, long startNanos, long endNanos) {
+        long micros = Math.max((endNanos - startNanos) / 1_000, 0);
+        if (EXPECTED_INTERVAL_MICROS > 0) {
+            recorder(operation).recordValueWithExpectedInterval(micros, EXPECTED_INTERVAL_MICROS);
+        } else {
+            recorder(operation).recordValue(micros);
+        }
+    }
+
+    /**
+     * Records one sample without coordinated omission correction, for callers that already
+     * measure from the intended start of each request, such as an open-model load generator
+     * @param operation  the operation name
+     * @param startNanos System.nanoTime() when the request should have been sent
+     * @param endNanos   System.nanoTime() when the response was received
+     */
+    public static void recordUncorrected(String operation, long startNanos, long endNanos) {
+        recorder(operation).recordValue(Math.max((endNanos - startNanos) / 1_000, 0));
+    }
+
+    /**
+     * Drains every recorder, returning what was recorded since the previous drain
+     * @return histograms by operation name, sorted by name
+     */
+    public static Map<String, Histogram> drain() {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        RECORDERS.forEach((operation, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(operation, histogram);
+            }
+        });
+        return histograms;
+    }
+
+    private static Recorder recorder(String operation) {
+        return RECORDERS.computeIfAbsent(operation, name -> new Recorder(SIGNIFICANT_DIGITS));
+    }
+
+    private static long expectedIntervalMicros() {
+        double rate = Double.parseDouble(System.getProperty("latency.target.rate", "0"));
+        return rate > 0 ? (long) (1_000_000 / rate) : 0;
+    }
+}
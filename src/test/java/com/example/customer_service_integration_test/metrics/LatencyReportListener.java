@@ -0,0 +1,58 @@
+package com.example.customer_service_integration_test.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Writes the client-side latency captured by {@link LatencyRecorder} after each suite:
+ * a percentile table on stdout and one .hgrm file per operation under latency.report.dir
+ * (default target/latency), which can be plotted with the HdrHistogram plotter.
+ */
+public class LatencyReportListener implements ISuiteListener {
+
+    // Values are recorded in microseconds, reports are in milliseconds
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Histogram> histograms = LatencyRecorder.drain();
+        if (histograms.isEmpty()) {
+            return;
+        }
+
+        File directory = new File(System.getProperty("latency.report.dir", "target/latency"),
+                suite.getName().replaceAll("[^A-Za-z0-9._-]", "_"));
+        directory.mkdirs();
+
+        System.out.println("Client-side latency (ms) for suite '" + suite.getName() + "':");
+        System.out.printf("%-28s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "p50", "p90", "p99", "p99.9", "max", "mean");
+        histograms.forEach((operation, histogram) -> {
+            System.out.printf("%-28s %8d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    operation,
+                    histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI,
+                    histogram.getMean() / MICROS_PER_MILLI);
+            writeHgrm(new File(directory, operation + ".hgrm"), histogram);
+        });
+        System.out.println("Latency histograms written to " + directory.getAbsolutePath());
+    }
+
+    private static void writeHgrm(File file, Histogram histogram) {
+        try (PrintStream output = new PrintStream(file)) {
+            histogram.outputPercentileDistribution(output, MICROS_PER_MILLI);
+        } catch (FileNotFoundException e) {
+            System.err.println("Error writing latency histogram " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.analytics.CustomerAnalyticsService;
+import com.example.customer_service_integration_test.analytics.CustomerColumnarSnapshot;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.repository.GroupCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares the off-heap columnar snapshot with the equivalent JPQL GROUP BY queries for the
+ * status, email domain and address aggregates. Run with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerAggregateBenchmarkTest extends BaseTest {
+
+    private static final String[] DOMAINS = {"example.com", "test.com", "mail.org", "corp.net", "shop.io"};
+
+    @Autowired
+    private CustomerAnalyticsService analyticsService;
+
+    private int customerCount;
+    private int iterations;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        customerCount = Integer.parseInt(getBenchmarkProperty("benchmark.analytics.customers", "20000"));
+        iterations = Integer.parseInt(getBenchmarkProperty("benchmark.analytics.iterations", "20"));
+    }
+
+    @Test(groups = "benchmark", description = "Snapshot aggregates should match JPQL aggregates and be faster")
+    public void test_snapshot_aggregates_compared_with_jpql() {
+        seedCustomers();
+        // Bulk cleanups of earlier runs bypass the entity listener, so start from a fresh scan
+        long start = System.nanoTime();
+        CustomerColumnarSnapshot snapshot = analyticsService.rebuild();
+        System.out.printf("Snapshot of %d customers built in %.1f ms, %d KiB off-heap%n",
+                snapshot.size(), (System.nanoTime() - start) / 1_000_000.0, snapshot.offHeapBytes() / 1024);
+
+        compare("status", analyticsService::countByStatus,
+                () -> toMap(customerRepository.countGroupedByStatus()));
+        compare("email domain", analyticsService::countByEmailDomain,
+                () -> toMap(customerRepository.countGroupedByEmailDomain()));
+        compare("address", analyticsService::countByAddress,
+                () -> toMap(customerRepository.countGroupedByAddress()));
+        System.out.println("✅ Snapshot aggregates match JPQL aggregates");
+    }
+
+    private void compare(String aggregate, Supplier<? extends Map<?, Long>> fromSnapshot,
+                         Supplier<? extends Map<?, Long>> fromJpql) {
+        Assert.assertEquals(new HashMap<>(fromSnapshot.get()), fromJpql.get(),
+                "Snapshot and JPQL counts by " + aggregate + " should match");
+
+        double snapshotMillis = averageMillis(fromSnapshot, 3, iterations);
+        double jpqlMillis = averageMillis(fromJpql, 3, iterations);
+        System.out.printf("Count by %-12s snapshot=%.3f ms  jpql=%.3f ms  (%.1fx)%n",
+                aggregate, snapshotMillis, jpqlMillis, jpqlMillis / snapshotMillis);
+        Assert.assertTrue(snapshotMillis < jpqlMillis,
+                "Snapshot count by " + aggregate + " should be faster than the JPQL aggregate");
+    }
+
+    private void seedCustomers() {
+        Random random = new Random(42);
+        List<CustomerEntity> chunk = new ArrayList<>();
+        for (int i = 0; i < customerCount; i++) {
+            chunk.add(CustomerEntity.builder()
+                    .name("Analytics Customer")
+                    .address("City " + random.nextInt(200))
+                    .email(uniqueEmail("analytics-" + UUID.randomUUID() + "@" + DOMAINS[random.nextInt(DOMAINS.length)]))
+                    .status(random.nextBoolean())
+                    .build());
+            if (chunk.size() == 1000 || i == customerCount - 1) {
+                customerRepository.saveAll(chunk).forEach(saved -> trackCreatedCustomer(saved.getCustomerId()));
+                chunk.clear();
+            }
+        }
+    }
+
+    private static Map<Object, Long> toMap(List<GroupCount> rows) {
+        Map<Object, Long> counts = new HashMap<>();
+        for (GroupCount row : rows) {
+            // The snapshot counts a missing address under the empty string
+            counts.merge(row.getGroupKey() == null ? "" : row.getGroupKey(), row.getTotal(), Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.model.BatchCreateResponse;
+import com.example.customer_service_integration_test.model.BatchItemResult;
+import com.example.customer_service_integration_test.model.CustomerData;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the batch create and multi-get endpoints with the equivalent single-item calls.
+ * Asserts only that every call succeeds and reports the throughput ratio, since which side wins
+ * on a busy machine says little about the code. Run with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerBatchThroughputTest extends BaseTest {
+
+    private int customerCount;
+    private int batchSize;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        customerCount = Integer.parseInt(getBenchmarkProperty("perf.batch.customers", "200"));
+        batchSize = Integer.parseInt(getBenchmarkProperty("perf.batch.size", "50"));
+    }
+
+    @Test(groups = "benchmark", description = "Batch create throughput compared with single creates")
+    public void test_batch_create_throughput_compared_with_single_create() {
+        long start = System.nanoTime();
+        for (CustomerData customerData : newCustomers(customerCount)) {
+            ResponseEntity<CustomerData> response = createCustomer(customerData);
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "Single create should return 200 OK");
+        }
+        double singleThroughput = customerCount / seconds(System.nanoTime() - start);
+
+        List<CustomerData> customers = newCustomers(customerCount);
+        start = System.nanoTime();
+        for (int from = 0; from < customers.size(); from += batchSize) {
+            List<CustomerData> chunk = customers.subList(from, Math.min(from + batchSize, customers.size()));
+            ResponseEntity<BatchCreateResponse> response = createCustomersBatch(chunk);
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "Batch create should return 200 OK");
+            Assert.assertNotNull(response.getBody(), "Batch create response body should not be null");
+            Assert.assertEquals(response.getBody().getSucceeded(), chunk.size(), "Every batch item should be created");
+        }
+        double batchThroughput = customerCount / seconds(System.nanoTime() - start);
+
+        System.out.printf("Create throughput: single=%.1f customers/s, batch(%d)=%.1f customers/s (%.1fx)%n",
+                singleThroughput, batchSize, batchThroughput, batchThroughput / singleThroughput);
+    }
+
+    @Test(groups = "benchmark", description = "Multi-get throughput compared with single gets")
+    public void test_multi_get_throughput_compared_with_single_get() {
+        List<CustomerData> customers = newCustomers(customerCount);
+        List<Long> customerIds = new ArrayList<>(customerCount);
+        for (int from = 0; from < customers.size(); from += batchSize) {
+            BatchCreateResponse created = createCustomersBatch(
+                    customers.subList(from, Math.min(from + batchSize, customers.size()))).getBody();
+            Assert.assertNotNull(created, "Batch create response body should not be null");
+            for (BatchItemResult result : created.getResults()) {
+                customerIds.add(result.getCustomer().getCustomerId());
+            }
+        }
+
+        long start = System.nanoTime();
+        for (Long customerId : customerIds) {
+            ResponseEntity<CustomerData> response = getCustomer(CustomerData.builder().customerId(customerId).build());
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "Single get should return 200 OK");
+        }
+        double singleThroughput = customerIds.size() / seconds(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int from = 0; from < customerIds.size(); from += batchSize) {
+            List<Long> chunk = customerIds.subList(from, Math.min(from + batchSize, customerIds.size()));
+            ResponseEntity<CustomerData[]> response = getCustomersByIds(chunk);
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "Multi-get should return 200 OK");
+            Assert.assertNotNull(response.getBody(), "Multi-get response body should not be null");
+            Assert.assertEquals(response.getBody().length, chunk.size(), "Multi-get should return every customer");
+        }
+        double batchThroughput = customerIds.size() / seconds(System.nanoTime() - start);
+
+        System.out.printf("Get throughput: single=%.1f customers/s, multi-get(%d)=%.1f customers/s (%.1fx)%n",
+                singleThroughput, batchSize, batchThroughput, batchThroughput / singleThroughput);
+    }
+
+    private List<CustomerData> newCustomers(int count) {
+        List<CustomerData> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            customers.add(CustomerData.builder()
+                    .name("Batch Customer")
+                    .address("Stockholm")
+                    .email(uniqueEmail("batch@test.com"))
+                    .status(true)
+                    .build());
+        }
+        return customers;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
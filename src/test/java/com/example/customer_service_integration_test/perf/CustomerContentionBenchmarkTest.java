@@ -0,0 +1,159 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.model.ConflictMetrics;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.service.CustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Many threads updating a handful of hot customers, once through the optimistic update path with
+ * jittered retries and once with SELECT ... FOR UPDATE row locks.
+ *
+ * Both runs go straight to the service layer so the numbers reflect the locking strategy rather
+ * than HTTP overhead. Run with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerContentionBenchmarkTest extends BaseTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int threads;
+    private int hotCustomers;
+    private int updatesPerThread;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        threads = Integer.parseInt(getBenchmarkProperty("benchmark.contention.threads", "32"));
+        hotCustomers = Integer.parseInt(getBenchmarkProperty("benchmark.contention.customers", "4"));
+        updatesPerThread = Integer.parseInt(getBenchmarkProperty("benchmark.contention.updates-per-thread", "50"));
+    }
+
+    @Test(groups = "benchmark", description = "Optimistic updates with retry compared with pessimistic row locks on hot customers")
+    public void test_optimistic_compared_with_pessimistic_under_contention() throws InterruptedException {
+        List<Long> optimisticIds = createHotCustomers();
+        ConflictMetrics before = customerService.conflictMetrics();
+        RunResult optimistic = run(optimisticIds, customerId -> customerService.update(customerId,
+                randomUpdate(customerRepository.findByCustomerId(customerId).orElseThrow())));
+        ConflictMetrics after = customerService.conflictMetrics();
+
+        List<Long> pessimisticIds = createHotCustomers();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        RunResult pessimistic = run(pessimisticIds, customerId -> transactionTemplate.executeWithoutResult(status -> {
+            CustomerEntity locked = customerRepository.findForUpdateByCustomerId(customerId).orElseThrow();
+            locked.setAddress("Address " + ThreadLocalRandom.current().nextInt(1_000_000));
+            customerRepository.saveAndFlush(locked);
+        }));
+
+        long attempts = after.getAttempts() - before.getAttempts();
+        long conflicts = after.getConflicts() - before.getConflicts();
+        System.out.printf("Contention benchmark: %d threads, %d customers, %d updates per thread%n",
+                threads, hotCustomers, updatesPerThread);
+        System.out.printf("  optimistic : %.1f updates/s, %d succeeded, %d gave up, conflict rate %.1f%% (%d of %d attempts)%n",
+                optimistic.throughput(), optimistic.succeeded(), optimistic.failed(),
+                attempts == 0 ? 0 : 100.0 * conflicts / attempts, conflicts, attempts);
+        System.out.printf("  pessimistic: %.1f updates/s, %d succeeded, %d failed%n",
+                pessimistic.throughput(), pessimistic.succeeded(), pessimistic.failed());
+
+        // Every successful write must have bumped a version exactly once, so no update was lost
+        Assert.assertEquals(versionSum(optimisticIds), optimistic.succeeded(),
+                "Optimistic versions should account for every successful update");
+        Assert.assertEquals(versionSum(pessimisticIds), pessimistic.succeeded(),
+                "Pessimistic versions should account for every successful update");
+        Assert.assertEquals(pessimistic.failed(), 0, "Pessimistic updates should wait rather than fail");
+        System.out.println("✅ Contention benchmark completed without lost updates");
+    }
+
+    private RunResult run(List<Long> customerIds, Consumer<Long> update) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    startSignal.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        Long customerId = customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+                        try {
+                            update.accept(customerId);
+                            succeeded.increment();
+                        } catch (OptimisticLockingFailureException e) {
+                            failed.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        startSignal.countDown();
+        boolean finished = done.await(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdownNow();
+        Assert.assertTrue(finished, "Contention run did not finish in time");
+        return new RunResult(succeeded.sum(), failed.sum(), succeeded.sum() / (elapsed / 1_000_000_000.0));
+    }
+
+    private List<Long> createHotCustomers() {
+        List<Long> customerIds = new ArrayList<>(hotCustomers);
+        for (int i = 0; i < hotCustomers; i++) {
+            ResponseEntity<CustomerData> response = createCustomer(CustomerData.builder()
+                    .name("Hot Customer")
+                    .address("Stockholm")
+                    .email(uniqueEmail("hot-" + UUID.randomUUID() + "@test.com"))
+                    .status(true)
+                    .build());
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.OK, "Hot customer create should return 200 OK");
+            customerIds.add(response.getBody().getCustomerId());
+        }
+        return customerIds;
+    }
+
+    private static CustomerData randomUpdate(CustomerEntity current) {
+        // No version, so a lost race is retried against the latest row instead of returning 409
+        return CustomerData.builder()
+                .name(current.getName())
+                .address("Address " + ThreadLocalRandom.current().nextInt(1_000_000))
+                .email(current.getEmail())
+                .status(current.isStatus())
+                .build();
+    }
+
+    private long versionSum(List<Long> customerIds) {
+        return customerRepository.findAllByCustomerIdIn(customerIds).stream()
+                .mapToLong(CustomerEntity::getVersion)
+                .sum();
+    }
+
+    private record RunResult(long succeeded, long failed, double throughput) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.example.customer_service_integration_test.model.CustomerSlice;
+import com.example.customer_service_integration_test.service.CustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Compares a classic {@code findAll(Pageable)} listing, which runs COUNT(*) on every request, with
+ * the slice listing that takes its total from the maintained counter. Run with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerListingBenchmarkTest extends BaseTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    private int pageSize;
+    private int iterations;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        pageSize = Integer.parseInt(getBenchmarkProperty("benchmark.listing.page-size", "20"));
+        iterations = Integer.parseInt(getBenchmarkProperty("benchmark.listing.iterations", "200"));
+    }
+
+    @Test(groups = "benchmark", description = "Slice listing with a cached total compared with Page listing with COUNT(*)")
+    public void test_slice_listing_compared_with_page_listing() {
+        PageRequest firstPage = PageRequest.of(0, pageSize, Sort.by("customerId"));
+        Page<CustomerEntity> page = customerRepository.findAll(firstPage);
+        CustomerSlice slice = customerService.list(0, pageSize);
+
+        List<Long> pageIds = page.getContent().stream().map(CustomerEntity::getCustomerId).toList();
+        List<Long> sliceIds = slice.getContent().stream().map(CustomerData::getCustomerId).toList();
+        Assert.assertEquals(sliceIds, pageIds, "Slice and Page listings should return the same customers");
+        Assert.assertEquals(slice.isHasNext(), page.hasNext(), "Slice and Page listings should agree on has-next");
+
+        double pageMillis = averageMillis(() -> customerRepository.findAll(firstPage), 10, iterations);
+        double sliceMillis = averageMillis(() -> customerService.list(0, pageSize), 10, iterations);
+        System.out.printf("Listing %d of %d customers: page+count=%.3f ms  slice+cached count=%.3f ms  (%.1fx)%n",
+                pageSize, page.getTotalElements(), pageMillis, sliceMillis, pageMillis / sliceMillis);
+        System.out.println("✅ Listing benchmark completed");
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.client.AsyncCustomerApiClient;
+import com.example.customer_service_integration_test.client.OpenModelLoadGenerator;
+import com.example.customer_service_integration_test.model.CustomerData;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drives the customer API at a constant arrival rate with the async client and checks that the
+ * offered rate is sustained with a bounded number of threads. Run with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerOpenModelLoadTest extends BaseTest {
+
+    private AsyncCustomerApiClient client;
+    private double rate;
+    private Duration duration;
+    private int customerCount;
+    private int maxThreads;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        rate = Double.parseDouble(getBenchmarkProperty("benchmark.async.rate", "5000"));
+        duration = Duration.parse(getBenchmarkProperty("benchmark.async.duration", "PT20S"));
+        customerCount = Integer.parseInt(getBenchmarkProperty("benchmark.async.customers", "500"));
+        maxThreads = Integer.parseInt(getBenchmarkProperty("benchmark.async.max-threads", "200"));
+        client = new AsyncCustomerApiClient(baseUrl + customerServiceEndPoint,
+                Integer.parseInt(getBenchmarkProperty("benchmark.async.max-in-flight", "512")),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeClient() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test(groups = "benchmark", description = "Open-model GET load at a constant arrival rate with few threads")
+    public void test_constant_arrival_rate_get_load() {
+        List<Long> customerIds = createCustomers();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        OpenModelLoadGenerator.Result result = new OpenModelLoadGenerator("get", rate, duration).run(
+                i -> client.get(customerIds.get((int) (i % customerIds.size()))), Duration.ofSeconds(30));
+        int peakThreads = threads.getPeakThreadCount();
+
+        System.out.printf("Open model get: offered %.0f req/s, achieved %.0f req/s, %d ok, %d failed, %d unfinished%n",
+                result.offeredRate(), result.achievedRate(), result.succeeded(), result.failed(), result.unfinished());
+        System.out.printf("  latency from intended start p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms; "
+                        + "scheduler lag max=%.2f ms; peak JVM threads=%d%n",
+                result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                result.latencyMicros().getMaxValue() / 1_000.0, result.maxSchedulerLagMs(), peakThreads);
+
+        Assert.assertEquals(result.unfinished(), 0, "Every request should complete");
+        Assert.assertTrue(result.failed() <= result.scheduled() / 100, "At most 1% of requests may fail");
+        Assert.assertTrue(result.offeredRate() >= rate * 0.95, "The generator should offer the configured rate");
+        Assert.assertTrue(peakThreads <= maxThreads,
+                "Peak thread count " + peakThreads + " should stay below " + maxThreads);
+        System.out.println("✅ Sustained " + Math.round(result.achievedRate()) + " req/s with " + peakThreads + " threads");
+    }
+
+    private List<Long> createCustomers() {
+        List<CompletableFuture<ResponseEntity<CustomerData>>> responses = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            responses.add(client.create(CustomerData.builder()
+                    .name("Async Customer")
+                    .address("Stockholm")
+                    .email(uniqueEmail("async-" + UUID.randomUUID() + "@test.com"))
+                    .status(true)
+                    .build()));
+        }
+        List<Long> customerIds = new ArrayList<>(customerCount);
+        for (CompletableFuture<ResponseEntity<CustomerData>> response : responses) {
+            ResponseEntity<CustomerData> created = response.join();
+            Assert.assertEquals(created.getStatusCode(), HttpStatus.OK, "Async create should return 200 OK");
+            trackCreatedCustomer(created.getBody().getCustomerId());
+            customerIds.add(created.getBody().getCustomerId());
+        }
+        return customerIds;
+    }
+}
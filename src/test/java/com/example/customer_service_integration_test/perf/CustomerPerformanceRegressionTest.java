@@ -0,0 +1,238 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.model.CustomerData;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Performance regression gate for the core customer operations.
+ *
+ * Runs several independent trials of create/get/update/delete, computes latency percentiles per
+ * operation and completed CRUD cycles per second of wall-clock time per trial, and compares the 95%
+ * confidence interval of each metric against the stored baseline. A metric only fails the gate when
+ * the whole interval is past the configured threshold, so a single noisy trial does not break the
+ * build but a consistent slowdown does. p99 is reported but not gated, a trial has too few samples
+ * for it to be more than the slowest request or two.
+ *
+ * Percentiles come from one HdrHistogram per operation and trial, in microseconds.
+ *
+ * The baseline is src/test/resources/perf/customer-baseline.json, recorded together with the
+ * environment it was measured on. Without it the gate fails; record one on the environment the
+ * gate runs on with {@code mvn test -Pbenchmark -Dperf.baseline.update=true}, which writes
+ * target/perf/customer-baseline.json to commit. Run the gate with {@code mvn test -Pbenchmark}.
+ */
+public class CustomerPerformanceRegressionTest extends BaseTest {
+
+    private static final String[] OPERATIONS = {"create", "get", "update", "delete"};
+    private static final String BASELINE_DESCRIPTION = "Client-side baseline for the customer API. "
+            + "Regenerate with -Dperf.baseline.update=true and copy target/perf/customer-baseline.json here.";
+
+    private int trials;
+    private int iterations;
+    private int warmupIterations;
+    private double latencyThreshold;
+    private double throughputThreshold;
+    private String baselineResource;
+    private boolean updateBaseline;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        trials = Integer.parseInt(getBenchmarkProperty("perf.trials", "5"));
+        iterations = Integer.parseInt(getBenchmarkProperty("perf.iterations", "200"));
+        warmupIterations = Integer.parseInt(getBenchmarkProperty("perf.warmup.iterations", "20"));
+        latencyThreshold = Double.parseDouble(getBenchmarkProperty("perf.regression.latency.threshold", "0.25"));
+        throughputThreshold = Double.parseDouble(getBenchmarkProperty("perf.regression.throughput.threshold", "0.20"));
+        baselineResource = getBenchmarkProperty("perf.baseline.file", "perf/customer-baseline.json");
+        updateBaseline = Boolean.parseBoolean(getBenchmarkProperty("perf.baseline.update", "false"));
+    }
+
+    @Test(groups = "benchmark", description = "Customer CRUD latency and throughput must not regress against the stored baseline")
+    public void test_customer_operations_do_not_regress() throws IOException {
+        PerfBaseline baseline = loadBaseline();
+        if (baseline == null && !updateBaseline) {
+            Assert.fail("No performance baseline at " + baselineResource + ". Record one on the environment "
+                    + "this gate runs on with -Dperf.baseline.update=true and commit target/perf/customer-baseline.json there");
+        }
+
+        // Warm up connections, JIT and server caches before any trial is measured
+        runTrial(warmupIterations);
+
+        double[] cyclesPerSec = new double[trials];
+        Map<String, double[][]> results = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            // [metric][trial] where metric is p50, p95, p99
+            results.put(operation, new double[3][trials]);
+        }
+
+        for (int trial = 0; trial < trials; trial++) {
+            long start = System.nanoTime();
+            Map<String, Histogram> histograms = runTrial(iterations);
+            cyclesPerSec[trial] = iterations / ((System.nanoTime() - start) / 1_000_000_000.0);
+            for (String operation : OPERATIONS) {
+                Histogram histogram = histograms.get(operation);
+                double[][] metrics = results.get(operation);
+                metrics[0][trial] = histogram.getValueAtPercentile(50) / 1_000.0;
+                metrics[1][trial] = histogram.getValueAtPercentile(95) / 1_000.0;
+                metrics[2][trial] = histogram.getValueAtPercentile(99) / 1_000.0;
+            }
+        }
+
+        List<String> regressions = new ArrayList<>();
+        PerfBaseline measured = new PerfBaseline();
+        measured.setDescription(baseline == null ? BASELINE_DESCRIPTION : baseline.getDescription());
+        measured.setRecordedAt(Instant.now().toString());
+        measured.setEnvironment(currentEnvironment());
+        if (baseline != null && !measured.getEnvironment().equals(baseline.getEnvironment())) {
+            System.out.println("⚠️ Baseline was recorded on " + baseline.getEnvironment()
+                    + ", this run is on " + measured.getEnvironment());
+        }
+
+        TrialStatistics.Interval throughput = TrialStatistics.confidenceInterval(cyclesPerSec);
+        System.out.printf("crud    throughput=%s cycles/s (wall clock)%n", throughput);
+        measured.setThroughputCyclesPerSec(throughput.mean());
+        if (baseline != null) {
+            checkThroughput(regressions, throughput, baseline.getThroughputCyclesPerSec());
+        }
+
+        for (String operation : OPERATIONS) {
+            double[][] metrics = results.get(operation);
+            TrialStatistics.Interval p50 = TrialStatistics.confidenceInterval(metrics[0]);
+            TrialStatistics.Interval p95 = TrialStatistics.confidenceInterval(metrics[1]);
+            TrialStatistics.Interval p99 = TrialStatistics.confidenceInterval(metrics[2]);
+
+            System.out.printf("%-7s p50=%s ms  p95=%s ms  p99=%s ms%n", operation, p50, p95, p99);
+
+            measured.getOperations().put(operation, new PerfBaseline.OperationBaseline(p50.mean(), p95.mean(), p99.mean()));
+
+            PerfBaseline.OperationBaseline expected = baseline == null ? null : baseline.getOperations().get(operation);
+            if (expected == null) {
+                System.out.println("No baseline for operation '" + operation + "', skipping comparison");
+                continue;
+            }
+            checkLatency(regressions, operation, "p50", p50, expected.getP50Ms());
+            checkLatency(regressions, operation, "p95", p95, expected.getP95Ms());
+        }
+
+        if (updateBaseline) {
+            writeBaseline(measured);
+        }
+        if (baseline == null) {
+            System.out.println("Recorded a first baseline, nothing to compare against yet");
+            return;
+        }
+
+        Assert.assertTrue(regressions.isEmpty(),
+                "Performance regressions detected:\n" + String.join("\n", regressions));
+        System.out.println("✅ No performance regressions against baseline " + baselineResource);
+    }
+
+    private Map<String, Histogram> runTrial(int count) {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            histograms.put(operation, new Histogram(3));
+        }
+
+        for (int i = 0; i < count; i++) {
+            CustomerData customerData = CustomerData.builder()
+                    .name("Perf Customer")
+                    .address("Stockholm")
+                    .email("perf-" + UUID.randomUUID() + "@test.com")
+                    .status(true)
+                    .build();
+
+            long start = System.nanoTime();
+            ResponseEntity<CustomerData> created = createCustomer(customerData);
+            record(histograms.get("create"), start);
+            Assert.assertEquals(created.getStatusCode(), HttpStatus.OK, "Perf create should return 200 OK");
+            CustomerData saved = created.getBody();
+            Assert.assertNotNull(saved, "Perf create response body should not be null");
+
+            start = System.nanoTime();
+            ResponseEntity<CustomerData> loaded = getCustomer(saved);
+            record(histograms.get("get"), start);
+            Assert.assertEquals(loaded.getStatusCode(), HttpStatus.OK, "Perf get should return 200 OK");
+
+            saved.setName("Perf Customer Updated");
+            start = System.nanoTime();
+            ResponseEntity<CustomerData> updated = updateCustomer(saved);
+            record(histograms.get("update"), start);
+            Assert.assertEquals(updated.getStatusCode(), HttpStatus.OK, "Perf update should return 200 OK");
+
+            start = System.nanoTime();
+            ResponseEntity<CustomerData> deleted = deleteCustomer(saved);
+            record(histograms.get("delete"), start);
+            Assert.assertEquals(deleted.getStatusCode(), HttpStatus.NO_CONTENT, "Perf delete should return 204 No Content");
+        }
+        return histograms;
+    }
+
+    private static void record(Histogram histogram, long startNanos) {
+        histogram.recordValue(Math.max((System.nanoTime() - startNanos) / 1_000, 0));
+    }
+
+    /**
+     * What the client-side numbers depend on, stored with the baseline so a comparison across
+     * machines is visible
+     */
+    private Map<String, String> currentEnvironment() {
+        Map<String, String> environment = new LinkedHashMap<>();
+        environment.put("java.version", System.getProperty("java.version"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version")
+                + " " + System.getProperty("os.arch"));
+        environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        environment.put("max.heap.mb", String.valueOf(Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        environment.put("api.base.url", baseUrl);
+        return environment;
+    }
+
+    private void checkLatency(List<String> regressions, String operation, String metric,
+                              TrialStatistics.Interval measured, double baselineMs) {
+        double limit = baselineMs * (1 + latencyThreshold);
+        if (measured.lower() > limit) {
+            regressions.add(String.format("%s %s latency %s ms exceeds baseline %.3f ms by more than %.0f%%",
+                    operation, metric, measured, baselineMs, latencyThreshold * 100));
+        }
+    }
+
+    private void checkThroughput(List<String> regressions, TrialStatistics.Interval measured,
+                                 double baselineCyclesPerSec) {
+        double limit = baselineCyclesPerSec * (1 - throughputThreshold);
+        if (measured.upper() < limit) {
+            regressions.add(String.format("CRUD throughput %s cycles/s is below baseline %.3f cycles/s by more than %.0f%%",
+                    measured, baselineCyclesPerSec, throughputThreshold * 100));
+        }
+    }
+
+    /**
+     * @return the committed baseline, or null if none has been recorded yet
+     */
+    private PerfBaseline loadBaseline() throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(baselineResource)) {
+            return input == null ? null : objectMapper.readValue(input, PerfBaseline.class);
+        }
+    }
+
+    private void writeBaseline(PerfBaseline measured) throws IOException {
+        File output = new File("target/perf/customer-baseline.json");
+        output.getParentFile().mkdirs();
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, measured);
+        System.out.println("Wrote measured baseline to " + output.getAbsolutePath());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.customer_service_integration_test.perf;
+
+import com.example.customer_service_integration_test.BaseTest;
+import com.example.customer_service_integration_test.email.NormalizedEmail;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+/**
+ * Index size and point-lookup latency of a unique VARCHAR(100) email index compared with a BIGINT
+ * email_hash index plus verification of the normalized value, on MySQL tables of
+ * benchmark.email.rows rows (10M by default). Run with {@code mvn test -Pbenchmark}.
+ *
+ * Loading 10M rows takes a while; set benchmark.email.keep-tables=true to reuse the tables on
+ * the next run.
+ */
+public class EmailLookupBenchmarkTest extends BaseTest {
+
+    private static final String VARCHAR_TABLE = "email_bench_varchar";
+    private static final String HASH_TABLE = "email_bench_hash";
+    private static final int INSERT_ROWS_PER_STATEMENT = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long rows;
+    private int lookups;
+    private boolean keepTables;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() {
+        setup();
+        rows = Long.parseLong(getBenchmarkProperty("benchmark.email.rows", "10000000"));
+        lookups = Integer.parseInt(getBenchmarkProperty("benchmark.email.lookups", "20000"));
+        keepTables = Boolean.parseBoolean(getBenchmarkProperty("benchmark.email.keep-tables", "false"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void dropTables() {
+        if (!keepTables && jdbcTemplate != null && isMySql()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + VARCHAR_TABLE);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + HASH_TABLE);
+        }
+    }
+
+    @Test(groups = "benchmark", description = "BIGINT hash index should be smaller than the VARCHAR email index")
+    public void test_hash_index_size_and_lookup_latency_compared_with_varchar_index() {
+        if (!isMySql()) {
+            throw new SkipException("Index statistics come from mysql.innodb_index_stats");
+        }
+        prepareTables();
+
+        long varcharIndexBytes = indexBytes(VARCHAR_TABLE, "uk_email");
+        long hashIndexBytes = indexBytes(HASH_TABLE, "idx_email_hash");
+
+        Histogram varcharLatency = measure(i -> !jdbcTemplate.queryForList(
+                "SELECT id FROM " + VARCHAR_TABLE + " WHERE email = ?", Long.class, email(i)).isEmpty());
+        Histogram hashLatency = measure(i -> {
+            String normalized = NormalizedEmail.normalize(email(i));
+            // Candidates by hash, then confirm the full value as the repository does
+            return jdbcTemplate.queryForList("SELECT email_normalized FROM " + HASH_TABLE + " WHERE email_hash = ?",
+                    String.class, NormalizedEmail.hash(normalized)).contains(normalized);
+        });
+
+        System.out.printf("Email index on %,d rows: varchar=%,d KiB  hash=%,d KiB  (%.1fx smaller)%n",
+                rows, varcharIndexBytes / 1024, hashIndexBytes / 1024, (double) varcharIndexBytes / hashIndexBytes);
+        System.out.printf("  lookup varchar p50=%.3f ms p99=%.3f ms | hash+verify p50=%.3f ms p99=%.3f ms%n",
+                varcharLatency.getValueAtPercentile(50) / 1_000.0, varcharLatency.getValueAtPercentile(99) / 1_000.0,
+                hashLatency.getValueAtPercentile(50) / 1_000.0, hashLatency.getValueAtPercentile(99) / 1_000.0);
+
+        Assert.assertTrue(hashIndexBytes < varcharIndexBytes, "The hash index should be smaller than the VARCHAR index");
+        System.out.println("✅ Email lookup benchmark completed");
+    }
+
+    private void prepareTables() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + VARCHAR_TABLE + " (id BIGINT NOT NULL PRIMARY KEY, "
+                + "email VARCHAR(100) NOT NULL, UNIQUE KEY uk_email (email))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + HASH_TABLE + " (id BIGINT NOT NULL PRIMARY KEY, "
+                + "email_normalized VARCHAR(100) NOT NULL, email_hash BIGINT NOT NULL, KEY idx_email_hash (email_hash))");
+        if (count(VARCHAR_TABLE) == rows && count(HASH_TABLE) == rows) {
+            System.out.println("Reusing email benchmark tables with " + rows + " rows");
+            return;
+        }
+        jdbcTemplate.execute("TRUNCATE TABLE " + VARCHAR_TABLE);
+        jdbcTemplate.execute("TRUNCATE TABLE " + HASH_TABLE);
+
+        long start = System.nanoTime();
+        for (long from = 0; from < rows; from += INSERT_ROWS_PER_STATEMENT) {
+            long to = Math.min(from + INSERT_ROWS_PER_STATEMENT, rows);
+            StringBuilder varcharInsert = new StringBuilder("INSERT INTO " + VARCHAR_TABLE + " (id, email) VALUES ");
+            StringBuilder hashInsert = new StringBuilder("INSERT INTO " + HASH_TABLE
+                    + " (id, email_normalized, email_hash) VALUES ");
+            List<Object> varcharArgs = new ArrayList<>();
+            List<Object> hashArgs = new ArrayList<>();
+            for (long i = from; i < to; i++) {
+                String separator = i == from ? "" : ",";
+                String normalized = NormalizedEmail.normalize(email(i));
+                varcharInsert.append(separator).append("(?,?)");
+                varcharArgs.add(i);
+                varcharArgs.add(email(i));
+                hashInsert.append(separator).append("(?,?,?)");
+                hashArgs.add(i);
+                hashArgs.add(normalized);
+                hashArgs.add(NormalizedEmail.hash(normalized));
+            }
+            jdbcTemplate.update(varcharInsert.toString(), varcharArgs.toArray());
+            jdbcTemplate.update(hashInsert.toString(), hashArgs.toArray());
+        }
+        System.out.printf("Loaded %,d rows into each email benchmark table in %.1f s%n",
+                rows, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private Histogram measure(LongPredicate lookup) {
+        Random random = new Random(7);
+        // Warm up the buffer pool and the JIT before timing
+        for (int i = 0; i < Math.min(lookups, 2_000); i++) {
+            lookup.test(Math.floorMod(random.nextLong(), rows));
+        }
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < lookups; i++) {
+            long row = Math.floorMod(random.nextLong(), rows);
+            long start = System.nanoTime();
+            boolean found = lookup.test(row);
+            histogram.recordValue(Math.max((System.nanoTime() - start) / 1_000, 0));
+            Assert.assertTrue(found, "Row " + row + " should be found by email");
+        }
+        return histogram;
+    }
+
+    private long indexBytes(String table, String index) {
+        jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        Long pageSize = jdbcTemplate.queryForObject("SELECT @@innodb_page_size", Long.class);
+        Map<String, Long> pages = new HashMap<>();
+        jdbcTemplate.query("SELECT index_name, stat_value FROM mysql.innodb_index_stats "
+                        + "WHERE database_name = DATABASE() AND table_name = ? AND stat_name = 'size'",
+                (RowCallbackHandler) rs -> pages.put(rs.getString("index_name"), rs.getLong("stat_value")), table);
+        Assert.assertTrue(pages.containsKey(index), "No size statistics for index " + index + " on " + table);
+        return pages.get(index) * pageSize;
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+
+    private static String email(long row) {
+        return "Customer." + row + "@Example" + (row % 97) + ".com";
+    }
+}
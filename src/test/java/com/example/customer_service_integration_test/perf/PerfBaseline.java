@@ -0,0 +1,35 @@
+package com.example.customer_service_integration_test.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stored performance baseline for the customer operations, serialized as JSON
+ * under src/test/resources/perf together with the environment it was recorded on. Throughput is
+ * for the whole create/get/update/delete cycle over wall-clock time; p99 is recorded for
+ * reference and not gated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerfBaseline {
+
+    private String description;
+    private String recordedAt;
+    private Map<String, String> environment = new LinkedHashMap<>();
+    private double throughputCyclesPerSec;
+    private Map<String, OperationBaseline> operations = new LinkedHashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationBaseline {
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.customer_service_integration_test.perf;
+
+/**
+ * Small statistics helper used to compare repeated performance trials against a baseline.
+ * Uses a two-sided 95% Student t confidence interval, which stays honest for the handful
+ * of trials a test run can afford.
+ */
+public final class TrialStatistics {
+
+    // Two-sided 95% critical values for 1..30 degrees of freedom
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private TrialStatistics() {
+    }
+
+    public record Interval(double mean, double lower, double upper) {
+        @Override
+        public String toString() {
+            return String.format("%.3f [%.3f, %.3f]", mean, lower, upper);
+        }
+    }
+
+    public static double mean(double[] samples) {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return samples.length == 0 ? 0 : sum / samples.length;
+    }
+
+    public static double standardDeviation(double[] samples) {
+        if (samples.length < 2) {
+            return 0;
+        }
+        double mean = mean(samples);
+        double squares = 0;
+        for (double sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        return Math.sqrt(squares / (samples.length - 1));
+    }
+
+    /**
+     * Computes the 95% confidence interval of the mean of the given trial results
+     * @param samples one value per trial
+     * @return the interval; collapses to the mean when fewer than two trials are available
+     */
+    public static Interval confidenceInterval(double[] samples) {
+        double mean = mean(samples);
+        if (samples.length < 2) {
+            return new Interval(mean, mean, mean);
+        }
+        int degreesOfFreedom = samples.length - 1;
+        double critical = degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : 1.960;
+        double margin = critical * standardDeviation(samples) / Math.sqrt(samples.length);
+        return new Interval(mean, mean - margin, mean + margin);
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.customer_service_integration_test.sharding;
+
+import com.example.customer_service_integration_test.email.NormalizedEmail;
+import com.example.customer_service_integration_test.entity.CustomerEntity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exercises the sharded store against several local in-memory H2 databases.
+ */
+public class ShardedCustomerRepositoryTest {
+
+    private final List<String> databases = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong(1);
+
+    @BeforeMethod
+    public void setUp() {
+        databases.clear();
+        String run = UUID.randomUUID().toString();
+        for (int i = 0; i < 3; i++) {
+            databases.add("jdbc:h2:mem:shard" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        for (String url : databases) {
+            new JdbcTemplate(dataSource(url)).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    public void test_routes_customers_and_finds_them_by_id_and_email() {
+        CustomerShards shards = shards(3);
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards, null, ids::getAndIncrement)) {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                CustomerEntity saved = repository.save(customer("user" + i + "@test.com"));
+                created.add(saved.getCustomerId());
+            }
+
+            for (int shard = 0; shard < shards.size(); shard++) {
+                Long rows = shards.shard(shard).queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+                Assert.assertTrue(rows > 0, "Every shard should receive rows, shard " + shard + " is empty");
+            }
+
+            Assert.assertEquals(repository.count(), 60);
+            Assert.assertEquals(repository.findAll().size(), 60);
+            for (int i = 0; i < created.size(); i++) {
+                Optional<CustomerEntity> byId = repository.findByCustomerId(created.get(i));
+                Assert.assertTrue(byId.isPresent(), "Customer " + created.get(i) + " should be found by id");
+                Optional<CustomerEntity> byEmail = repository.findByEmail("user" + i + "@test.com");
+                Assert.assertTrue(byEmail.isPresent(), "Customer should be found by email");
+                Assert.assertEquals(byEmail.get().getCustomerId(), created.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void test_rejects_duplicate_email_across_shards() {
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            repository.save(customer("duplicate@test.com"));
+            Assert.assertThrows(DuplicateKeyException.class, () -> repository.save(customer("duplicate@test.com")));
+            // Case and whitespace variants are the same email
+            Assert.assertThrows(DuplicateKeyException.class, () -> repository.save(customer(" Duplicate@Test.com")));
+            Assert.assertTrue(repository.findByEmail("DUPLICATE@test.com").isPresent());
+            Assert.assertEquals(repository.count(), 1);
+        }
+    }
+
+    @Test
+    public void test_update_email_and_delete_keep_lookup_consistent() {
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            CustomerEntity saved = repository.save(customer("before@test.com"));
+            saved.setEmail("after@test.com");
+            saved.setName("Updated");
+            repository.save(saved);
+
+            Assert.assertTrue(repository.findByEmail("before@test.com").isEmpty());
+            Assert.assertEquals(repository.findByEmail("after@test.com").orElseThrow().getName(), "Updated");
+
+            repository.deleteById(saved.getCustomerId());
+            Assert.assertFalse(repository.existsByCustomerId(saved.getCustomerId()));
+            Assert.assertTrue(repository.findByEmail("after@test.com").isEmpty());
+        }
+    }
+
+    @Test
+    public void test_online_rebalance_from_two_to_three_shards() {
+        CustomerShards twoShards = shards(2);
+        List<Long> created = new ArrayList<>();
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(twoShards, null, ids::getAndIncrement)) {
+            for (int i = 0; i < 90; i++) {
+                created.add(repository.save(customer("move" + i + "@test.com")).getCustomerId());
+            }
+        }
+
+        CustomerShards threeShards = shards(3);
+        try (ShardedCustomerRepository repository =
+                     new ShardedCustomerRepository(threeShards, shards(2), ids::getAndIncrement)) {
+            // Reads fall back to the old topology before the migration has run
+            for (Long customerId : created) {
+                Assert.assertTrue(repository.existsByCustomerId(customerId));
+            }
+
+            ShardRebalancer.Result result = new ShardRebalancer(repository.getPreviousShards(), threeShards, 7).rebalance();
+            Assert.assertTrue(result.movedCustomers() > 0, "Some customers should move to the new shard");
+
+            Long onNewShard = threeShards.shard(2).queryForObject("SELECT COUNT(*) FROM customers", Long.class);
+            Assert.assertEquals(onNewShard.longValue(), result.movedCustomers());
+            Assert.assertEquals(repository.count(), 90);
+        }
+
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            for (int i = 0; i < created.size(); i++) {
+                Assert.assertEquals(repository.findByEmail("move" + i + "@test.com").orElseThrow().getCustomerId(),
+                        created.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void test_update_to_taken_email_keeps_row_and_lookup_unchanged() {
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            repository.save(customer("taken@test.com"));
+            CustomerEntity saved = repository.save(customer("mine@test.com"));
+
+            saved.setEmail("Taken@test.com");
+            Assert.assertThrows(DuplicateKeyException.class, () -> repository.save(saved));
+
+            Assert.assertEquals(repository.findByCustomerId(saved.getCustomerId()).orElseThrow().getEmail(), "mine@test.com");
+            Assert.assertEquals(repository.findByEmail("mine@test.com").orElseThrow().getCustomerId(), saved.getCustomerId());
+            Assert.assertNotEquals(repository.findByEmail("taken@test.com").orElseThrow().getCustomerId(),
+                    saved.getCustomerId());
+        }
+    }
+
+    @Test
+    public void test_stores_derived_email_columns_and_bumps_version() {
+        CustomerShards shards = shards(3);
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards, null, ids::getAndIncrement)) {
+            CustomerEntity saved = repository.save(customer(" Mixed.Case@Test.com "));
+            Assert.assertEquals(saved.getVersion().longValue(), 0L);
+
+            CustomerEntity stored = repository.findByCustomerId(saved.getCustomerId()).orElseThrow();
+            Assert.assertEquals(stored.getEmailNormalized(), "mixed.case@test.com");
+            Assert.assertEquals(stored.getEmailHash().longValue(), NormalizedEmail.hash("mixed.case@test.com"));
+            Assert.assertEquals(stored.getVersion().longValue(), 0L);
+
+            stored.setName("Renamed");
+            repository.save(stored);
+            Assert.assertEquals(stored.getVersion().longValue(), 1L);
+            Assert.assertEquals(repository.findByCustomerId(saved.getCustomerId()).orElseThrow().getVersion().longValue(), 1L);
+        }
+    }
+
+    @Test
+    public void test_rejects_update_with_stale_version() {
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            CustomerEntity saved = repository.save(customer("stale@test.com"));
+            CustomerEntity first = repository.findByCustomerId(saved.getCustomerId()).orElseThrow();
+            CustomerEntity second = repository.findByCustomerId(saved.getCustomerId()).orElseThrow();
+
+            first.setName("First Writer");
+            repository.save(first);
+            second.setName("Second Writer");
+            Assert.assertThrows(OptimisticLockingFailureException.class, () -> repository.save(second));
+
+            Assert.assertEquals(repository.findByCustomerId(saved.getCustomerId()).orElseThrow().getName(), "First Writer");
+        }
+    }
+
+    @Test
+    public void test_rebalance_does_not_resurrect_or_overwrite_rows_changed_after_page_read() {
+        CustomerShards twoShards = shards(2);
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(twoShards, null, ids::getAndIncrement)) {
+            for (int i = 0; i < 30; i++) {
+                repository.save(customer("race" + i + "@test.com"));
+            }
+        }
+
+        CustomerShards threeShards = shards(3);
+        try (ShardedCustomerRepository repository =
+                     new ShardedCustomerRepository(threeShards, shards(2), ids::getAndIncrement)) {
+            List<Long> moving = new ArrayList<>();
+            for (CustomerEntity customer : repository.findAll()) {
+                int targetShard = threeShards.shardForCustomerId(customer.getCustomerId());
+                if (!threeShards.name(targetShard).equals(twoShards.name(twoShards.shardForCustomerId(customer.getCustomerId())))) {
+                    moving.add(customer.getCustomerId());
+                }
+            }
+            Assert.assertTrue(moving.size() >= 2, "The test needs at least two customers that change shard");
+            long deletedId = moving.get(0);
+            long updatedId = moving.get(1);
+
+            ShardRebalancer rebalancer = new ShardRebalancer(repository.getPreviousShards(), threeShards, 50) {
+                @Override
+                void beforeMove(CustomerEntity customer) {
+                    // Live traffic between the page read and the copy
+                    if (customer.getCustomerId() == deletedId) {
+                        repository.deleteById(deletedId);
+                    } else if (customer.getCustomerId() == updatedId) {
+                        CustomerEntity updated = repository.findByCustomerId(updatedId).orElseThrow();
+                        updated.setName("Updated During Rebalance");
+                        repository.save(updated);
+                    }
+                }
+            };
+            rebalancer.rebalance();
+
+            Assert.assertTrue(repository.findByCustomerId(deletedId).isEmpty(), "A deleted customer must not come back");
+            for (int shard = 0; shard < threeShards.size(); shard++) {
+                Long rows = threeShards.shard(shard).queryForObject(
+                        "SELECT COUNT(*) FROM customers WHERE customer_id = ?", Long.class, deletedId);
+                Assert.assertEquals(rows.longValue(), 0L, "Deleted customer copied into shard " + shard);
+            }
+            Assert.assertEquals(repository.findByCustomerId(updatedId).orElseThrow().getName(), "Updated During Rebalance");
+            Assert.assertEquals(repository.count(), 29);
+        }
+    }
+
+    @Test
+    public void test_rebalance_drops_email_entries_released_or_stale_before_the_move() {
+        CustomerShards twoShards = shards(2);
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(twoShards, null, ids::getAndIncrement)) {
+            for (int i = 0; i < 40; i++) {
+                repository.save(customer("mail" + i + "@test.com"));
+            }
+        }
+
+        CustomerShards threeShards = shards(3);
+        List<String> moving = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String email = (i < 40 ? "mail" : "orphan") + i + "@test.com";
+            if (!threeShards.name(threeShards.shardForEmail(email)).equals(twoShards.name(twoShards.shardForEmail(email)))) {
+                moving.add(email);
+            }
+        }
+        String deletedEmail = moving.stream().filter(email -> email.startsWith("mail")).findFirst().orElseThrow();
+        String changedEmail = moving.stream().filter(email -> email.startsWith("mail") && !email.equals(deletedEmail))
+                .findFirst().orElseThrow();
+        String orphanEmail = moving.stream().filter(email -> email.startsWith("orphan")).findFirst().orElseThrow();
+        // A lookup entry whose customer no longer exists
+        twoShards.shard(twoShards.shardForEmail(orphanEmail)).update(ShardedCustomerRepository.INSERT_LOOKUP, orphanEmail, 999_999L);
+
+        try (ShardedCustomerRepository repository =
+                     new ShardedCustomerRepository(threeShards, shards(2), ids::getAndIncrement)) {
+            ShardRebalancer rebalancer = new ShardRebalancer(repository.getPreviousShards(), threeShards, 50) {
+                @Override
+                void beforeMoveEmail(String email, long customerId) {
+                    // Live traffic between the page read and the copy
+                    if (email.equals(deletedEmail)) {
+                        repository.deleteById(customerId);
+                    } else if (email.equals(changedEmail)) {
+                        CustomerEntity changed = repository.findByCustomerId(customerId).orElseThrow();
+                        changed.setEmail("changed@test.com");
+                        repository.save(changed);
+                    }
+                }
+            };
+            rebalancer.rebalance();
+        }
+
+        for (String email : List.of(deletedEmail, changedEmail, orphanEmail)) {
+            long entries = 0;
+            for (int shard = 0; shard < threeShards.size(); shard++) {
+                entries += threeShards.shard(shard).queryForObject(
+                        "SELECT COUNT(*) FROM customer_email_lookup WHERE email = ?", Long.class, email);
+            }
+            Assert.assertEquals(entries, 0L, "No lookup entry should be left for " + email);
+        }
+        try (ShardedCustomerRepository repository = new ShardedCustomerRepository(shards(3), null, ids::getAndIncrement)) {
+            // The addresses are free again
+            for (String email : List.of(deletedEmail, changedEmail, orphanEmail)) {
+                repository.save(customer(email));
+            }
+            Assert.assertTrue(repository.findByEmail("changed@test.com").isPresent());
+            Assert.assertEquals(repository.count(), 39 + 3);
+        }
+    }
+
+    private CustomerShards shards(int count) {
+        List<String> names = new ArrayList<>();
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(databases.get(i));
+            dataSources.add(dataSource(databases.get(i)));
+        }
+        CustomerShards shards = new CustomerShards(names, dataSources);
+        shards.initializeSchema();
+        return shards;
+    }
+
+    private static DataSource dataSource(String url) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        dataSource.setDriverClassName("org.h2.Driver");
+        return dataSource;
+    }
+
+    private static CustomerEntity customer(String email) {
+        return CustomerEntity.builder()
+                .name("Shard Customer")
+                .address("Stockholm")
+                .email(email)
+                .status(true)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.customer_service_integration_test.traffic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact append-only binary log of {@link TrafficRecord}s.
+ *
+ * Each record is written as: start (long micros), latency (long nanos), status (short),
+ * method (modified UTF-8), then path, request body and response body as int length-prefixed
+ * UTF-8 (-1 for null), so query strings of any length fit. A record is encoded in full before any
+ * of it is written. Several recording sessions can append to the same file, and a partly written
+ * last record is ignored on read.
+ */
+public final class TrafficLog {
+
+    private TrafficLog() {
+    }
+
+    public static List<TrafficRecord> read(Path file) throws IOException {
+        List<TrafficRecord> records = new ArrayList<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                try {
+                    long start = input.readLong();
+                    long latency = input.readLong();
+                    int status = input.readShort();
+                    String method = input.readUTF();
+                    String path = readString(input);
+                    String requestBody = readString(input);
+                    String responseBody = readString(input);
+                    records.add(new TrafficRecord(start, latency, method, path, requestBody, status, responseBody));
+                } catch (EOFException e) {
+                    // End of the log; a last record cut short by an interrupted recording is dropped
+                    return records;
+                }
+            }
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Thread-safe appender; records are buffered and flushed on {@link #flush()} or {@link #close()}
+     */
+    public static class Writer implements AutoCloseable {
+
+        private final DataOutputStream output;
+        private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(1024);
+        private final DataOutputStream record = new DataOutputStream(recordBuffer);
+
+        public Writer(Path file) throws IOException {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true), 64 * 1024));
+        }
+
+        public synchronized void append(TrafficRecord traffic) throws IOException {
+            // Encode first, so a record that cannot be encoded leaves nothing half-written in the log
+            recordBuffer.reset();
+            record.writeLong(traffic.startEpochMicros());
+            record.writeLong(traffic.latencyNanos());
+            record.writeShort(traffic.status());
+            record.writeUTF(traffic.method());
+            writeString(traffic.path());
+            writeString(traffic.requestBody());
+            writeString(traffic.responseBody());
+            recordBuffer.writeTo(output);
+        }
+
+        public synchronized void flush() throws IOException {
+            output.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            output.close();
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                record.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            record.writeInt(bytes.length);
+            record.write(bytes);
+        }
+    }
+
+    static String readFully(InputStream input) throws IOException {
+        return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
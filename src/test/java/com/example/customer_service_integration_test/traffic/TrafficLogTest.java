@@ -0,0 +1,103 @@
+package com.example.customer_service_integration_test.traffic;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TrafficLogTest {
+
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        file = Files.createTempFile("traffic", ".log");
+        Files.delete(file);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void test_records_round_trip_with_null_empty_and_large_bodies() throws IOException {
+        String large = "ä€".repeat(300_000);
+        List<TrafficRecord> written = List.of(
+                new TrafficRecord(1_000L, 2_500_000L, "GET", "/api/customer/42", null, 200,
+                        "{\"customerId\":42,\"name\":\"Zoë\"}"),
+                new TrafficRecord(2_000L, 1L, "DELETE", "/api/customer/42", "", 204, null),
+                new TrafficRecord(3_000L, 9_999_999_999L, "POST", "/api/customer/batch", large, 400, large));
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file)) {
+            for (TrafficRecord record : written) {
+                writer.append(record);
+            }
+        }
+
+        Assert.assertEquals(TrafficLog.read(file), written);
+    }
+
+    @Test
+    public void test_path_longer_than_64_kib_round_trips_and_keeps_later_records_aligned() throws IOException {
+        StringBuilder path = new StringBuilder("/api/customer/batch?ids=");
+        for (long id = 1; path.length() <= 200_000; id++) {
+            path.append(id).append(',');
+        }
+        List<TrafficRecord> written = List.of(
+                new TrafficRecord(1L, 1L, "GET", path.toString(), null, 200, "[]"),
+                new TrafficRecord(2L, 2L, "GET", "/api/customer/7", null, 404, "{}"));
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file)) {
+            for (TrafficRecord record : written) {
+                writer.append(record);
+            }
+        }
+
+        Assert.assertEquals(TrafficLog.read(file), written);
+    }
+
+    @Test
+    public void test_sessions_append_to_the_same_file() throws IOException {
+        TrafficRecord first = new TrafficRecord(1L, 1L, "GET", "/api/customer/1", null, 200, "{}");
+        TrafficRecord second = new TrafficRecord(2L, 2L, "GET", "/api/customer/2", null, 404, "{}");
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file)) {
+            writer.append(first);
+        }
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file)) {
+            writer.append(second);
+        }
+
+        Assert.assertEquals(TrafficLog.read(file), List.of(first, second));
+    }
+
+    @Test
+    public void test_truncated_last_record_is_dropped() throws IOException {
+        TrafficRecord complete = new TrafficRecord(1L, 1L, "POST", "/api/customer", "{\"name\":\"a\"}", 200, "{}");
+        TrafficRecord cutShort = new TrafficRecord(2L, 2L, "POST", "/api/customer", "{\"name\":\"b\"}", 200,
+                "{\"customerId\":2}");
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file)) {
+            writer.append(complete);
+            writer.append(cutShort);
+        }
+        long fullLength = Files.size(file);
+
+        // Cut the second record at every point from inside its body back to its first byte
+        for (long length = fullLength - 1; length > fullLength - 40; length--) {
+            try (RandomAccessFile truncated = new RandomAccessFile(file.toFile(), "rw")) {
+                truncated.setLength(length);
+            }
+            Assert.assertEquals(TrafficLog.read(file), List.of(complete), "Log truncated to " + length + " bytes");
+        }
+    }
+
+    @Test
+    public void test_empty_log_has_no_records() throws IOException {
+        Files.createFile(file);
+        Assert.assertTrue(TrafficLog.read(file).isEmpty());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.customer_service_integration_test.traffic;
+
+/**
+ * One captured request/response exchange.
+ *
+ * @param startEpochMicros wall-clock time the request was sent, in microseconds since the epoch
+ * @param latencyNanos     time until the response was fully received
+ * @param method           HTTP method
+ * @param path             request path including the query string, without scheme and host
+ * @param requestBody      request body, or null
+ * @param status           response status code
+ * @param responseBody     response body, or null
+ */
+public record TrafficRecord(long startEpochMicros, long latencyNanos, String method, String path,
+                            String requestBody, int status, String responseBody) {
+}
@@ -0,0 +1,59 @@
+package com.example.customer_service_integration_test.traffic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Process-wide recorder for traffic sent through the test helpers.
+ * Enabled by pointing -Dtraffic.record.file at the log to append to.
+ */
+public final class TrafficRecorder {
+
+    private static final TrafficLog.Writer WRITER = openWriter();
+
+    private TrafficRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return WRITER != null;
+    }
+
+    public static long nowEpochMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    public static void record(TrafficRecord record) {
+        if (WRITER == null) {
+            return;
+        }
+        try {
+            WRITER.append(record);
+        } catch (IOException e) {
+            System.err.println("Error recording traffic for " + record.method() + " " + record.path() + ": " + e.getMessage());
+        }
+    }
+
+    private static TrafficLog.Writer openWriter() {
+        String file = System.getProperty("traffic.record.file");
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            TrafficLog.Writer writer = new TrafficLog.Writer(Path.of(file));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing traffic log " + file + ": " + e.getMessage());
+                }
+            }, "traffic-recorder-close"));
+            System.out.println("Recording customer API traffic to " + Path.of(file).toAbsolutePath());
+            return writer;
+        } catch (IOException e) {
+            System.err.println("Error opening traffic log " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customer_service_integration_test.traffic;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records RestAssured exchanges, including requests built with given() directly
+ */
+public class TrafficRecordingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long startMicros = TrafficRecorder.nowEpochMicros();
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        String responseBody = response.asString();
+        long latency = System.nanoTime() - start;
+
+        URI uri = URI.create(requestSpec.getURI());
+        String path = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        TrafficRecorder.record(new TrafficRecord(startMicros, latency, requestSpec.getMethod(), path,
+                bodyAsString(requestSpec.getBody()), response.getStatusCode(),
+                responseBody.isEmpty() ? null : responseBody));
+        return response;
+    }
+
+    private static String bodyAsString(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.customer_service_integration_test.traffic;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records RestTemplate exchanges. Needs a buffering request factory so the response
+ * body can be read here and again by the message converters.
+ */
+public class TrafficRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long startMicros = TrafficRecorder.nowEpochMicros();
+        long start = System.nanoTime();
+        ClientHttpResponse response = execution.execute(request, body);
+        String responseBody = TrafficLog.readFully(response.getBody());
+        long latency = System.nanoTime() - start;
+
+        URI uri = request.getURI();
+        String path = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        TrafficRecorder.record(new TrafficRecord(startMicros, latency, request.getMethod().name(), path,
+                body.length == 0 ? null : new String(body, StandardCharsets.UTF_8),
+                response.getStatusCode().value(), responseBody.isEmpty() ? null : responseBody));
+        return response;
+    }
+}
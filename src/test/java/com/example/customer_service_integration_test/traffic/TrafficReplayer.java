@@ -0,0 +1,338 @@
+package com.example.customer_service_integration_test.traffic;
+
+import com.example.customer_service_integration_test.TestDataIsolation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a {@link TrafficLog} against a running customer service.
+ *
+ * Requests are sent at the recorded pace scaled by a speed factor (1 = as recorded, N = N times
+ * faster, 0 = as fast as possible) with at most a fixed number in flight. Emails are namespaced
+ * per replay and ids returned by replayed creates are mapped onto later requests that referenced
+ * the recorded ids, so a recording can be replayed any number of times against the same database.
+ *
+ * Usage: TrafficReplayer &lt;log file&gt; [base url] [speed] [concurrency]
+ */
+public class TrafficReplayer {
+
+    // Numeric path segments and the multi-get ids parameter carry customer ids, other numbers do not
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+)(?=/|$)");
+    private static final Pattern IDS_PARAMETER = Pattern.compile("([?&]ids=)([\\d,]+)");
+
+    private final String baseUrl;
+    private final double speed;
+    private final int concurrency;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, String> emailRewrites = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Long>> idRewrites = new ConcurrentHashMap<>();
+
+    public TrafficReplayer(String baseUrl, double speed, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.baseUrl = baseUrl;
+        this.speed = speed;
+        this.concurrency = concurrency;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TrafficReplayer <log file> [base url] [speed, 0 = max] [concurrency]");
+            System.exit(1);
+        }
+        List<TrafficRecord> records = TrafficLog.read(Path.of(args[0]));
+        String baseUrl = args.length > 1 ? args[1] : "http://localhost:8081";
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+
+        ReplayReport report = new TrafficReplayer(baseUrl, speed, concurrency).replay(records);
+        report.print(System.out);
+    }
+
+    public ReplayReport replay(List<TrafficRecord> recording) throws InterruptedException {
+        List<TrafficRecord> records = new ArrayList<>(recording);
+        records.sort(Comparator.comparingLong(TrafficRecord::startEpochMicros));
+        ReplayReport report = new ReplayReport();
+        if (records.isEmpty()) {
+            return report;
+        }
+
+        // Every id handed out by a recorded create gets a placeholder that later requests can wait on
+        for (TrafficRecord record : records) {
+            if ("POST".equals(record.method()) && record.status() / 100 == 2) {
+                for (Long recordedId : customerIds(record.responseBody())) {
+                    idRewrites.putIfAbsent(recordedId, new CompletableFuture<>());
+                }
+            }
+        }
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(records.size());
+        long firstStart = records.get(0).startEpochMicros();
+        long replayStart = System.nanoTime();
+
+        for (TrafficRecord record : records) {
+            long intended = replayStart;
+            if (speed > 0) {
+                intended += (long) ((record.startEpochMicros() - firstStart) * 1_000 / speed);
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            inFlight.acquire();
+            // When pacing, latency is measured from the intended send time so that queueing shows up
+            long measuredFrom = speed > 0 ? intended : System.nanoTime();
+
+            CompletableFuture<Void> exchange = dependencies(record)
+                    .thenCompose(ignored -> send(record))
+                    .handle((response, error) -> {
+                        long latency = System.nanoTime() - measuredFrom;
+                        inFlight.release();
+                        int status = response == null ? -1 : response.statusCode();
+                        if (error != null) {
+                            System.err.println("Replay of " + record.method() + " " + record.path() + " failed: " + error.getMessage());
+                        }
+                        mapCreatedIds(record, response);
+                        report.add(record, status, latency);
+                        return null;
+                    });
+            pending.add(exchange);
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        return report;
+    }
+
+    private CompletableFuture<Void> dependencies(TrafficRecord record) {
+        List<Long> referenced = new ArrayList<>();
+        mapPathIds(record.path(), id -> {
+            referenced.add(id);
+            return id;
+        });
+        referenced.addAll(customerIds(record.requestBody()));
+
+        List<CompletableFuture<Long>> waits = new ArrayList<>();
+        List<Long> produced = customerIds(record.responseBody());
+        for (Long id : referenced) {
+            CompletableFuture<Long> rewrite = idRewrites.get(id);
+            // A create never waits for the ids it produces itself
+            if (rewrite != null && !produced.contains(id)) {
+                waits.add(rewrite);
+            }
+        }
+        return CompletableFuture.allOf(waits.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(TrafficRecord record) {
+        String path = rewritePath(record.path());
+        String body = rewriteBody(record.requestBody());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .method(record.method(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void mapCreatedIds(TrafficRecord record, HttpResponse<String> response) {
+        if (!"POST".equals(record.method())) {
+            return;
+        }
+        List<Long> recordedIds = customerIds(record.responseBody());
+        List<Long> replayedIds = response == null ? List.of() : customerIds(response.body());
+        for (int i = 0; i < recordedIds.size(); i++) {
+            CompletableFuture<Long> rewrite = idRewrites.get(recordedIds.get(i));
+            if (rewrite != null) {
+                // Fall back to the recorded id so dependants still run when the create failed
+                rewrite.complete(i < replayedIds.size() ? replayedIds.get(i) : recordedIds.get(i));
+            }
+        }
+    }
+
+    private String rewritePath(String path) {
+        return mapPathIds(path, this::rewriteId);
+    }
+
+    /**
+     * Applies the mapping to every customer id in the path: numeric path segments and the values
+     * of the ids query parameter
+     * @return the path with the mapped ids
+     */
+    private static String mapPathIds(String path, LongUnaryOperator mapping) {
+        int query = path.indexOf('?');
+        String resource = query < 0 ? path : path.substring(0, query);
+        StringBuilder rewritten = new StringBuilder();
+        Matcher segments = ID_SEGMENT.matcher(resource);
+        while (segments.find()) {
+            segments.appendReplacement(rewritten, "/" + mapping.applyAsLong(parseId(segments.group(1))));
+        }
+        segments.appendTail(rewritten);
+        if (query < 0) {
+            return rewritten.toString();
+        }
+
+        Matcher ids = IDS_PARAMETER.matcher(path.substring(query));
+        while (ids.find()) {
+            StringBuilder values = new StringBuilder();
+            for (String id : ids.group(2).split(",", -1)) {
+                values.append(values.isEmpty() ? "" : ",").append(id.isEmpty() ? "" : mapping.applyAsLong(parseId(id)));
+            }
+            ids.appendReplacement(rewritten, Matcher.quoteReplacement(ids.group(1) + values));
+        }
+        ids.appendTail(rewritten);
+        return rewritten.toString();
+    }
+
+    private String rewriteBody(String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            JsonNode tree = objectMapper.readTree(body);
+            rewriteNode(tree);
+            return objectMapper.writeValueAsString(tree);
+        } catch (IOException e) {
+            // Not JSON (e.g. a deliberately malformed payload), send it unchanged
+            return body;
+        }
+    }
+
+    private void rewriteNode(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            JsonNode email = object.get("email");
+            if (email != null && email.isTextual()) {
+                object.put("email", emailRewrites.computeIfAbsent(email.asText(), TestDataIsolation::uniqueEmail));
+            }
+            JsonNode customerId = object.get("customerId");
+            if (customerId != null && customerId.canConvertToLong()) {
+                object.put("customerId", rewriteId(customerId.asLong()));
+            }
+        }
+        for (JsonNode child : node) {
+            rewriteNode(child);
+        }
+    }
+
+    private long rewriteId(long recordedId) {
+        CompletableFuture<Long> rewrite = idRewrites.get(recordedId);
+        return rewrite != null && rewrite.isDone() ? rewrite.join() : recordedId;
+    }
+
+    private List<Long> customerIds(String body) {
+        List<Long> ids = new ArrayList<>();
+        if (body == null) {
+            return ids;
+        }
+        try {
+            collectIds(objectMapper.readTree(body), ids);
+        } catch (IOException e) {
+            // Not JSON, no ids
+        }
+        return ids;
+    }
+
+    private static void collectIds(JsonNode node, List<Long> ids) {
+        JsonNode customerId = node.get("customerId");
+        if (customerId != null && customerId.canConvertToLong()) {
+            ids.add(customerId.asLong());
+        }
+        for (JsonNode child : node) {
+            if (child.isContainerNode()) {
+                collectIds(child, ids);
+            }
+        }
+    }
+
+    private static long parseId(String number) {
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Recorded vs replayed latency per endpoint
+     */
+    public static class ReplayReport {
+
+        private final Map<String, Histogram[]> histograms = new ConcurrentHashMap<>();
+        private final AtomicLong statusMismatches = new AtomicLong();
+
+        void add(TrafficRecord record, int replayStatus, long replayLatencyNanos) {
+            String path = record.path();
+            int query = path.indexOf('?');
+            String endpoint = record.method() + " " + ID_SEGMENT.matcher(query < 0 ? path : path.substring(0, query))
+                    .replaceAll("/{id}");
+            Histogram[] pair = histograms.computeIfAbsent(endpoint, key -> new Histogram[]{new Histogram(3), new Histogram(3)});
+            synchronized (pair) {
+                pair[0].recordValue(Math.max(record.latencyNanos() / 1_000, 0));
+                pair[1].recordValue(Math.max(replayLatencyNanos / 1_000, 0));
+            }
+            if (replayStatus != record.status()) {
+                statusMismatches.incrementAndGet();
+            }
+        }
+
+        public long getStatusMismatches() {
+            return statusMismatches.get();
+        }
+
+        public Map<String, Histogram[]> getHistograms() {
+            return histograms;
+        }
+
+        public void print(PrintStream output) {
+            output.printf("%-36s %7s %12s %12s %12s %12s %9s %9s%n", "endpoint", "count",
+                    "rec p50 ms", "rep p50 ms", "rec p99 ms", "rep p99 ms", "p50 chg %", "p99 chg %");
+            histograms.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                Histogram recorded = entry.getValue()[0];
+                Histogram replayed = entry.getValue()[1];
+                double recordedP50 = recorded.getValueAtPercentile(50) / 1000.0;
+                double replayedP50 = replayed.getValueAtPercentile(50) / 1000.0;
+                double recordedP99 = recorded.getValueAtPercentile(99) / 1000.0;
+                double replayedP99 = replayed.getValueAtPercentile(99) / 1000.0;
+                output.printf("%-36s %7d %12.3f %12.3f %12.3f %12.3f %9.1f %9.1f%n", entry.getKey(),
+                        recorded.getTotalCount(), recordedP50, replayedP50, recordedP99, replayedP99,
+                        percentChange(recordedP50, replayedP50), percentChange(recordedP99, replayedP99));
+            });
+            output.println("Responses with a different status than recorded: " + statusMismatches.get());
+        }
+
+        private static double percentChange(double recorded, double replayed) {
+            return recorded == 0 ? 0 : (replayed - recorded) / recorded * 100;
+        }
+    }
+}
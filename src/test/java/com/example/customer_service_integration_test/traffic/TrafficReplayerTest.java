@@ -0,0 +1,81 @@
+package com.example.customer_service_integration_test.traffic;
+
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replays a small recording against a local stub server that hands out different ids than the
+ * recorded ones.
+ */
+public class TrafficReplayerTest {
+
+    private static final long RECORDED_ID = 20;
+    private static final long REPLAYED_ID = 555;
+
+    private HttpServer server;
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        received.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.put(exchange.getRequestMethod() + " " + exchange.getRequestURI(), requestBody);
+            boolean create = "POST".equals(exchange.getRequestMethod());
+            byte[] response = (create ? "{\"customerId\":" + REPLAYED_ID + "}" : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void test_rewrites_recorded_ids_in_id_segments_and_bodies_only() throws InterruptedException {
+        List<TrafficRecord> recording = List.of(
+                record(1, "POST", "/api/customer", "{\"name\":\"Replay\",\"email\":\"replay@test.com\"}",
+                        "{\"customerId\":" + RECORDED_ID + "}"),
+                record(2, "GET", "/api/customer/" + RECORDED_ID, null, "{}"),
+                record(3, "PUT", "/api/customer/" + RECORDED_ID,
+                        "{\"customerId\":" + RECORDED_ID + ",\"name\":\"Updated\"}", "{}"),
+                // size happens to equal the recorded id and must stay as is
+                record(4, "GET", "/api/customer/list?page=0&size=" + RECORDED_ID, null, "{}"),
+                record(5, "GET", "/api/customer/batch?ids=" + RECORDED_ID + ",7", null, "[]"));
+
+        TrafficReplayer.ReplayReport report =
+                new TrafficReplayer("http://localhost:" + server.getAddress().getPort(), 0, 1).replay(recording);
+
+        Assert.assertEquals(report.getStatusMismatches(), 0);
+        Assert.assertTrue(received.containsKey("GET /api/customer/" + REPLAYED_ID), "Received " + received.keySet());
+        Assert.assertTrue(received.get("PUT /api/customer/" + REPLAYED_ID).contains("\"customerId\":" + REPLAYED_ID));
+        Assert.assertTrue(received.containsKey("GET /api/customer/list?page=0&size=" + RECORDED_ID),
+                "Query parameters other than ids should not be rewritten, received " + received.keySet());
+        Assert.assertTrue(received.containsKey("GET /api/customer/batch?ids=" + REPLAYED_ID + ",7"),
+                "Received " + received.keySet());
+        Assert.assertFalse(received.get("POST /api/customer").contains("\"replay@test.com\""),
+                "Emails should be namespaced per replay");
+    }
+
+    private static TrafficRecord record(long start, String method, String path, String requestBody, String responseBody) {
+        return new TrafficRecord(start, 1_000_000, method, path, requestBody, 200, responseBody);
+    }
+}
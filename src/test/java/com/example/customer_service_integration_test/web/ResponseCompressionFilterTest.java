@@ -0,0 +1,47 @@
+package com.example.customer_service_integration_test.web;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ResponseCompressionFilterTest {
+
+    @DataProvider(name = "accept_encodings")
+    public Object[][] acceptEncodings() {
+        return new Object[][]{
+                {null, null},
+                {"", null},
+                {"gzip", "gzip"},
+                {"x-gzip", "gzip"},
+                {"deflate", "deflate"},
+                {"br", null},
+                // Equal quality prefers gzip
+                {"deflate, gzip", "gzip"},
+                // q-values decide, whatever the order
+                {"gzip;q=0.5, deflate", "deflate"},
+                {"gzip;q=0.9, deflate;q=0.4", "gzip"},
+                {" gzip ; q=0.2 , deflate ; q=0.3 ", "deflate"},
+                {"gzip;q=0, deflate;q=0", null},
+                {"gzip;q=0", null},
+                // An unparsable q-value counts as not acceptable
+                {"gzip;q=high", null},
+                // identity;q=0 alone lists no coding we produce, so the body goes out as is
+                {"identity;q=0", null},
+                {"gzip, identity;q=0", "gzip"},
+                {"deflate;q=0.5, identity;q=0", "deflate"},
+                // The wildcard covers codings that are not listed explicitly
+                {"*", "gzip"},
+                {"*;q=0", null},
+                {"*, gzip;q=0", "deflate"},
+                {"*;q=0.3, deflate;q=0.5", "deflate"},
+                {"*;q=0.6, deflate;q=0.5", "gzip"},
+                {"*;q=0, deflate", "deflate"},
+        };
+    }
+
+    @Test(dataProvider = "accept_encodings")
+    public void test_negotiate_honours_quality_values_and_wildcard(String acceptEncoding, String expected) {
+        Assert.assertEquals(ResponseCompressionFilter.negotiate(acceptEncoding), expected,
+                "Accept-Encoding: " + acceptEncoding);
+    }
+}